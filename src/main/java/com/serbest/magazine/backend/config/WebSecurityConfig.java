@@ -1,9 +1,11 @@
 package com.serbest.magazine.backend.config;
 
+import com.serbest.magazine.backend.security.CostMatchingBCryptPasswordEncoder;
 import com.serbest.magazine.backend.security.CustomAccessDeniedHandler;
 import com.serbest.magazine.backend.security.jwt.AuthEntryPointJwt;
 import com.serbest.magazine.backend.security.jwt.AuthTokenFilter;
 import com.serbest.magazine.backend.security.jwt.JwtUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,23 +17,29 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 @Configuration
 @EnableMethodSecurity
 public class WebSecurityConfig {
 
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
     private final AuthEntryPointJwt unauthorizedHandler;
     private final JwtUtils jwtUtils;
 
-    public WebSecurityConfig(UserDetailsService userDetailsService,
+    public WebSecurityConfig(UserDetailsService userDetailsService, UserDetailsPasswordService userDetailsPasswordService,
                              AuthEntryPointJwt unauthorizedHandler, JwtUtils jwtUtils) {
         this.userDetailsService = userDetailsService;
+        this.userDetailsPasswordService = userDetailsPasswordService;
         this.unauthorizedHandler = unauthorizedHandler;
         this.jwtUtils = jwtUtils;
     }
@@ -42,18 +50,25 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Rehashes the password on a successful login when it was stored with another cost or without an id.
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
 
         return authProvider;
     }
 
     @Bean
-    public static PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(16);
+    public static PasswordEncoder passwordEncoder(@Value("${magazine.app.passwordHashCost:16}") int passwordHashCost) {
+        BCryptPasswordEncoder bCryptPasswordEncoder = new CostMatchingBCryptPasswordEncoder(passwordHashCost);
+        DelegatingPasswordEncoder passwordEncoder =
+                new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bCryptPasswordEncoder));
+        // Hashes stored before the {bcrypt} prefix was introduced.
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bCryptPasswordEncoder);
+        return passwordEncoder;
     }
 
     @Bean
@@ -63,7 +78,7 @@ public class WebSecurityConfig {
 
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain securityFilterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
         http
                 .sessionManagement(
                         session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
@@ -94,7 +109,7 @@ public class WebSecurityConfig {
                 .and()
                 .csrf().disable();
 
-        http.authenticationProvider(authenticationProvider());
+        http.authenticationProvider(authenticationProvider);
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
@@ -11,6 +11,8 @@ import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @CrossOrigin(origins = {"http://localhost:3000", "https://magazine-app.netlify.app"}, maxAge = 3600, allowCredentials="true")
 @RestController
 @RequestMapping("/api/auth")
@@ -26,17 +28,17 @@ public class AuthController {
 
 
     @PostMapping(value = {"/login", "/signin"})
-    public ResponseEntity<UserInfoResponse> login(@RequestBody LoginRequestDTO loginDto, HttpServletRequest request) {
-        JWTAuthResponse jwtAuthResponse = authService.login(request, loginDto);
-        return ResponseEntity.ok()
-                .header(HttpHeaders.SET_COOKIE, jwtAuthResponse.getRefreshTokenCookie().toString())
-                .body(userMapper.jwtAuthResponseToUserInfoResponse(jwtAuthResponse));
+    public CompletableFuture<ResponseEntity<UserInfoResponse>> login(@RequestBody LoginRequestDTO loginDto, HttpServletRequest request) {
+        return authService.login(request, loginDto)
+                .thenApply(jwtAuthResponse -> ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, jwtAuthResponse.getRefreshTokenCookie().toString())
+                        .body(userMapper.jwtAuthResponseToUserInfoResponse(jwtAuthResponse)));
     }
 
     @PostMapping(value = {"/register", "/signup"})
-    public ResponseEntity<RegisterResponseDTO> register(@Valid @RequestBody RegisterRequestDTO registerDto){
-        RegisterResponseDTO response = authService.register(registerDto);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<RegisterResponseDTO>> register(@Valid @RequestBody RegisterRequestDTO registerDto){
+        return authService.register(registerDto)
+                .thenApply(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
     }
 
     @PostMapping("/refreshToken")
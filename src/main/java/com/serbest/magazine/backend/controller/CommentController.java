@@ -4,6 +4,7 @@ import com.serbest.magazine.backend.dto.comment.CommentRequestDTO;
 import com.serbest.magazine.backend.dto.comment.CommentResponseDTO;
 import com.serbest.magazine.backend.dto.comment.CommentUpdateRequestDTO;
 import com.serbest.magazine.backend.dto.general.MessageResponseDTO;
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.service.CommentService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -34,6 +35,19 @@ public class CommentController {
         return ResponseEntity.ok(commentService.getAllComments(postId));
     }
 
+    @GetMapping("/byPost/{postId}/page")
+    public ResponseEntity<PageResponseDTO<CommentResponseDTO>> getCommentsPage(@PathVariable String postId,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(required = false) Integer size,
+                                                                           @RequestParam(required = false) Integer replies) {
+        return ResponseEntity.ok(commentService.getCommentsPage(postId, cursor, size, replies));
+    }
+
+    @GetMapping("/{id}/replies")
+    public ResponseEntity<CommentResponseDTO> getThread(@PathVariable String id) {
+        return ResponseEntity.ok(commentService.getThread(id));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<MessageResponseDTO> deleteCommentById(@PathVariable String id) throws AccessDeniedException {
         return ResponseEntity.ok(commentService.deleteById(id));
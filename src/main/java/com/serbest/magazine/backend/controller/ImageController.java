@@ -1,31 +1,167 @@
 package com.serbest.magazine.backend.controller;
 import com.serbest.magazine.backend.service.ImageModelService;
+import com.serbest.magazine.backend.service.ImageVariantService;
+import com.serbest.magazine.backend.service.StoredBlob;
 
-import org.springframework.core.io.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/photos")
 public class ImageController {
 
+    // Uploaded images are named by the SHA-256 of their content (older ones by an upload timestamp),
+    // so the bytes behind a name never change.
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final ImageModelService imageModelService;
+    private final ImageVariantService imageVariantService;
 
-    public ImageController(ImageModelService imageModelService) {
+    public ImageController(ImageModelService imageModelService, ImageVariantService imageVariantService) {
         this.imageModelService = imageModelService;
+        this.imageVariantService = imageVariantService;
     }
 
 
     @GetMapping("/download/{filename:.+}")
-    public ResponseEntity<Resource> getImage(@PathVariable String filename) throws Exception {
-        Resource file = imageModelService.load(filename);
+    public void getImage(@PathVariable String filename, @RequestParam(name = "w", required = false) Integer width,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Widths between the configured ones are sent to the width actually served, so browsers and CDNs
+        // cache every variant under a single URL and tag.
+        if (width != null && width != imageVariantService.variantWidth(width)) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+            response.setHeader(HttpHeaders.LOCATION, ServletUriComponentsBuilder.fromRequest(request)
+                    .replaceQueryParam("w", imageVariantService.variantWidth(width)).toUriString());
+            response.setStatus(HttpStatus.MOVED_PERMANENTLY.value());
+            return;
+        }
+        StoredBlob blob = width == null ? imageModelService.getBlob(filename) : imageVariantService.getVariant(filename, width);
+
+        long length = blob.getLength();
+        long lastModified = blob.getLastModified();
+        String etag = etag(filename, width, blob);
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline().filename(filename).build().toString());
+        response.setContentType(MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, etag, lastModified)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                // Several ranges are answered with the whole file.
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start > end) {
+                        throw new IllegalArgumentException("Invalid range: " + range);
+                    }
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        // Bytes that are already in memory (cached or mapped) are written directly. Otherwise Tomcat writes
+        // the file with sendfile after the request returns, or the file is copied channel to channel.
+        ByteBuffer content = blob.getContent();
+        if (content != null) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            ByteBuffer slice = content.slice((int) start, (int) count);
+            while (slice.hasRemaining()) {
+                out.write(slice);
+            }
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, blob.getFile().toString());
+            request.setAttribute(SENDFILE_START, blob.getOffset() + start);
+            request.setAttribute(SENDFILE_END, blob.getOffset() + start + count);
+            return;
+        }
+
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        try (FileChannel channel = FileChannel.open(blob.getFile(), StandardOpenOption.READ)) {
+            long position = blob.getOffset() + start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFilename() + "\"").body(file);
+    // The content hash of the name, so the tag outlives the blob's timestamp being refreshed or the blob being
+    // stored again. Names from before content addressing fall back to size and modification time.
+    private String etag(String filename, Integer width, StoredBlob blob) {
+        String key = imageModelService.storageKey(filename);
+        String tag = key.equals(filename)
+                ? Long.toHexString(blob.getLength()) + "-" + Long.toHexString(blob.getLastModified())
+                : key;
+        return "\"" + tag + (width == null ? "" : "-w" + width) + "\"";
     }
 }
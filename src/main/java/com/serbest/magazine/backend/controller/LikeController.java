@@ -16,6 +16,8 @@ import java.util.List;
 @RequestMapping("/api/likes")
 public class LikeController {
 
+    private static final int MAX_LIKED_POSTS = 100;
+
     private final LikeService likeService;
 
     public LikeController(LikeService likeService) {
@@ -30,6 +32,15 @@ public class LikeController {
         return ResponseEntity.status(200).body(likeService.like(requestBody));
     }
 
+    @GetMapping("/likedPosts")
+    public ResponseEntity<List<String>> likedPosts(@RequestParam List<String> postIds) throws AccessDeniedException {
+        if (postIds.size() > MAX_LIKED_POSTS) {
+            throw new CustomApplicationException(HttpStatus.BAD_REQUEST,
+                    "Ask for at most " + MAX_LIKED_POSTS + " posts , please.");
+        }
+        return ResponseEntity.ok(likeService.likedPosts(postIds));
+    }
+
     @GetMapping("/likedUsersByPost/{postId}")
     public ResponseEntity<List<String>> likedUsersByPost(@PathVariable String postId){
         return ResponseEntity.ok(likeService.likedUsersByPost(postId));
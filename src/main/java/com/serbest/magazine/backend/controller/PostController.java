@@ -1,5 +1,6 @@
 package com.serbest.magazine.backend.controller;
 
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.dto.post.*;
 import com.serbest.magazine.backend.service.PostService;
 
@@ -38,10 +39,21 @@ public class PostController {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<PostResponseDTO>> getAllPost() {
+    public ResponseEntity<List<PostCardResponseDTO>> getAllPost() {
         return ResponseEntity.ok(postService.getAllPosts());
     }
 
+    @GetMapping(value = "/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PageResponseDTO<PostCardResponseDTO>> getPostsPage(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(postService.getPostsPage(cursor, size));
+    }
+
+    @GetMapping(value = "/home", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<HomePageResponseDTO> getHomePage() {
+        return ResponseEntity.ok(postService.getHomePage());
+    }
+
     @GetMapping(value = "/firstFivePosts",produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<FirstFivePostsListDTO>> getFirstFivePosts() {
         return ResponseEntity.ok(postService.getFirstFivePosts());
@@ -63,10 +75,17 @@ public class PostController {
     }
 
     @GetMapping("/getPostsByAuthor/{username}")
-    public ResponseEntity<List<PostResponseDTO>> getPostsByUsername(@PathVariable String username){
+    public ResponseEntity<List<PostCardResponseDTO>> getPostsByUsername(@PathVariable String username){
         return ResponseEntity.ok(postService.findByUsername(username));
     }
 
+    @GetMapping("/pageByAuthor/{username}")
+    public ResponseEntity<PageResponseDTO<PostCardResponseDTO>> getPostsPageByUsername(@PathVariable String username,
+                                                                                   @RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(required = false) Integer size){
+        return ResponseEntity.ok(postService.findByUsernamePage(username, cursor, size));
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/getDeactivatedPosts")
     public ResponseEntity<List<DeactivatedPostApiResponseDTO>> getDeactivatedPosts(){
@@ -99,12 +118,19 @@ public class PostController {
     }
 
     @GetMapping("/getPostByCategory/{category}")
-    public ResponseEntity<List<PostResponseDTO>> getAllPostByCategory(@PathVariable String category){
+    public ResponseEntity<List<PostCardResponseDTO>> getAllPostByCategory(@PathVariable String category){
         return ResponseEntity.ok(postService.getPostsByCategory(category));
     }
 
+    @GetMapping("/pageByCategory/{category}")
+    public ResponseEntity<PageResponseDTO<PostCardResponseDTO>> getPostsPageByCategory(@PathVariable String category,
+                                                                                   @RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(required = false) Integer size){
+        return ResponseEntity.ok(postService.getPostsByCategoryPage(category, cursor, size));
+    }
+
     @GetMapping("/randomThree")
-    public ResponseEntity<List<PostResponseDTO>> getThreeByRandomPosts(){
+    public ResponseEntity<List<PostCardResponseDTO>> getThreeByRandomPosts(){
         return ResponseEntity.ok(postService.getRandomThreePost());
     }
 
@@ -19,4 +19,5 @@ public class AuthorCardResponseDTO {
     private String description;
     private String image;
     private String imageName;
+    private String imagePlaceholder;
 }
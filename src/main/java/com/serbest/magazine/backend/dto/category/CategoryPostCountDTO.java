@@ -0,0 +1,15 @@
+package com.serbest.magazine.backend.dto.category;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryPostCountDTO {
+    private UUID categoryId;
+    private Long postCount;
+}
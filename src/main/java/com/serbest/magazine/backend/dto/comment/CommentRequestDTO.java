@@ -18,4 +18,11 @@ public class CommentRequestDTO {
     @NotBlank(message = "Post not found.")
     private String postId;
 
+    // Set when the comment is a reply.
+    private String parentId;
+
+    public CommentRequestDTO(String content, String postId) {
+        this(content, postId, null);
+    }
+
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -21,4 +22,10 @@ public class CommentResponseDTO {
     private String userImage;
     private LocalDateTime createDateTime;
     private LocalDateTime updateDateTime;
+    private UUID parentId;
+    private Integer depth;
+    private Long replyCount;
+    private Long likeCount;
+    private Boolean likedByCurrentUser;
+    private List<CommentResponseDTO> replies;
 }
@@ -0,0 +1,15 @@
+package com.serbest.magazine.backend.dto.general;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponseDTO<T> {
+    private List<T> content;
+    private String next;
+}
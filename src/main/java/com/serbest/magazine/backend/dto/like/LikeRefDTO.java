@@ -0,0 +1,16 @@
+package com.serbest.magazine.backend.dto.like;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeRefDTO {
+    private UUID authorId;
+    private UUID postId;
+    private UUID commentId;
+}
@@ -12,5 +12,8 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 public class LikeResponseDTO {
+    // Null when the toggle removed the like.
     private UUID likeId;
+    private Boolean liked;
+    private Long likeCount;
 }
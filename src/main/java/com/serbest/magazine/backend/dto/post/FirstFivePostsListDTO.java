@@ -12,5 +12,8 @@ import java.util.UUID;
 public class FirstFivePostsListDTO {
     private UUID id;
     private String image;
+    private Integer imageWidth;
+    private Integer imageHeight;
+    private String imagePlaceholder;
     private String title;
 }
@@ -0,0 +1,16 @@
+package com.serbest.magazine.backend.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomePageResponseDTO {
+    private List<FirstFivePostsListDTO> hero;
+    private List<MainPagePostsListDTO> top;
+    private List<MainPagePostsListDTO> main;
+}
@@ -18,6 +18,9 @@ public class MainPagePostsListDTO {
     private String category;
     private String username;
     private String image;
+    private Integer imageWidth;
+    private Integer imageHeight;
+    private String imagePlaceholder;
     private Long comments;
     private LocalDateTime createDateTime;
 }
@@ -0,0 +1,28 @@
+package com.serbest.magazine.backend.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostCardResponseDTO {
+    private UUID id;
+    private String title;
+    private String subtitle;
+    private String category;
+    private String username;
+    private String profileImage;
+    private String image;
+    private Integer imageWidth;
+    private Integer imageHeight;
+    private String imagePlaceholder;
+    private Long comments;
+    private LocalDateTime createDateTime;
+}
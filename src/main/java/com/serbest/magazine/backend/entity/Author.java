@@ -47,6 +47,9 @@ public class Author {
 
     private String profileImage;
 
+    @Column(length = 512)
+    private String profileImagePlaceholder;
+
     @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
     @JoinTable(name = "author_roles",
             joinColumns = @JoinColumn(name = "author_id", referencedColumnName = "id"),
@@ -197,6 +200,14 @@ public class Author {
         this.profileImage = profileImage;
     }
 
+    public String getProfileImagePlaceholder() {
+        return profileImagePlaceholder;
+    }
+
+    public void setProfileImagePlaceholder(String profileImagePlaceholder) {
+        this.profileImagePlaceholder = profileImagePlaceholder;
+    }
+
     public Set<Role> getRoles() {
         return roles;
     }
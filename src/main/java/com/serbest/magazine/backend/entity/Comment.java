@@ -1,8 +1,10 @@
 package com.serbest.magazine.backend.entity;
 
 
+import com.serbest.magazine.backend.util.CommentPath;
 import jakarta.persistence.*;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import org.hibernate.annotations.*;
 
@@ -11,7 +13,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_create_date_time", columnList = "post, createDateTime, id"),
+        @Index(name = "idx_comments_post_path", columnList = "post, path"),
+        @Index(name = "idx_comments_parent_position", columnList = "parent, position")
+})
 public class Comment {
 
     @Id
@@ -29,6 +35,32 @@ public class Comment {
     @JoinColumn(name = "author")
     private Author author;
 
+    // Thread roots have no parent.
+    @Column(name = "parent")
+    private UUID parentId;
+
+    // Replies only, see getPath().
+    @Column(length = 255)
+    private String path;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer depth = 0;
+
+    // Reply number under the parent, starting from 1.
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer position = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long replyCount = 0L;
+
+    // Only grows, so a position is never handed out twice after replies are deleted.
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer replySequence = 0;
+
     @OneToMany(mappedBy = "comment", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Like> likes;
 
@@ -99,6 +131,51 @@ public class Comment {
         this.updateDateTime = updateDateTime;
     }
 
+    public UUID getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(UUID parentId) {
+        this.parentId = parentId;
+    }
+
+    // A root's path is its id, so roots (and comments from before threading) need no stored path.
+    public String getPath() {
+        return path != null || id == null ? path : CommentPath.root(id);
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+
+    public Long getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(Long replyCount) {
+        this.replyCount = replyCount;
+    }
+
+    public Integer getReplySequence() {
+        return replySequence;
+    }
+
     public Author getAuthor() {
         return author;
     }
@@ -1,7 +1,9 @@
 package com.serbest.magazine.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.sql.Blob;
 import java.util.UUID;
 
 @Entity
@@ -16,20 +18,31 @@ public class ImageModel {
 
     // @Formula("(select count(id) from image_model")
     // private int isImageExist;
+    // Read as a locator so the bytes can be streamed instead of loaded whole.
     @Lob
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "pic_byte")
-    private byte[] picByte;
+    private Blob picByte;
+
+    // Name of the image in the image store once the row has been migrated.
+    @Column(name = "migrated_to")
+    private String migratedTo;
+
+    // Failed migration attempts, so a row that can never be migrated stops being tried.
+    @ColumnDefault("0")
+    @Column(name = "migration_attempts", nullable = false)
+    private Integer migrationAttempts = 0;
 
     public ImageModel() {
     }
 
-    public ImageModel(String name, String type, byte[] picByte) {
+    public ImageModel(String name, String type, Blob picByte) {
         this.name = name;
         this.type = type;
         this.picByte = picByte;
     }
 
-    public ImageModel(UUID id, String name, String type, byte[] picByte) {
+    public ImageModel(UUID id, String name, String type, Blob picByte) {
         this.id = id;
         this.name = name;
         this.type = type;
@@ -61,11 +74,27 @@ public class ImageModel {
         this.type = type;
     }
 
-    public byte[] getPicByte() {
+    public Blob getPicByte() {
         return picByte;
     }
 
-    public void setPicByte(byte[] picByte) {
+    public void setPicByte(Blob picByte) {
         this.picByte = picByte;
     }
+
+    public String getMigratedTo() {
+        return migratedTo;
+    }
+
+    public void setMigratedTo(String migratedTo) {
+        this.migratedTo = migratedTo;
+    }
+
+    public Integer getMigrationAttempts() {
+        return migrationAttempts;
+    }
+
+    public void setMigrationAttempts(Integer migrationAttempts) {
+        this.migrationAttempts = migrationAttempts;
+    }
 }
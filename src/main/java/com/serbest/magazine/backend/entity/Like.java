@@ -5,7 +5,11 @@ import jakarta.persistence.*;
 import java.util.UUID;
 
 @Entity
-@Table(name = "likes")
+// One like per author and post or comment. The post and comment lead the keys so they also serve the counts.
+@Table(name = "likes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_likes_post_author", columnNames = {"post", "author"}),
+        @UniqueConstraint(name = "uk_likes_comment_author", columnNames = {"comment", "author"})
+})
 public class Like {
 
     @Id
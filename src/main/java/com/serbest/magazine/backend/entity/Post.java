@@ -1,6 +1,7 @@
 package com.serbest.magazine.backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -9,7 +10,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_active_create_date_time", columnList = "active, createDateTime, postId"),
+        @Index(name = "idx_posts_category_create_date_time", columnList = "category, active, createDateTime"),
+        @Index(name = "idx_posts_author_create_date_time", columnList = "author, active, createDateTime")
+})
 public class Post {
 
     @Id
@@ -40,6 +45,17 @@ public class Post {
 
     private String postImage;
 
+    private Integer imageWidth;
+
+    private Integer imageHeight;
+
+    @Column(length = 512)
+    private String imagePlaceholder;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long commentCount = 0L;
+
     @CreationTimestamp
     private LocalDateTime createDateTime;
 
@@ -147,6 +163,14 @@ public class Post {
         this.comments = comments;
     }
 
+    public Long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(Long commentCount) {
+        this.commentCount = commentCount;
+    }
+
     public String getPostImage() {
         return postImage;
     }
@@ -155,6 +179,30 @@ public class Post {
         this.postImage = postImage;
     }
 
+    public Integer getImageWidth() {
+        return imageWidth;
+    }
+
+    public void setImageWidth(Integer imageWidth) {
+        this.imageWidth = imageWidth;
+    }
+
+    public Integer getImageHeight() {
+        return imageHeight;
+    }
+
+    public void setImageHeight(Integer imageHeight) {
+        this.imageHeight = imageHeight;
+    }
+
+    public String getImagePlaceholder() {
+        return imagePlaceholder;
+    }
+
+    public void setImagePlaceholder(String imagePlaceholder) {
+        this.imagePlaceholder = imagePlaceholder;
+    }
+
     public LocalDateTime getCreateDateTime() {
         return createDateTime;
     }
@@ -0,0 +1,46 @@
+package com.serbest.magazine.backend.job;
+
+import com.serbest.magazine.backend.repository.CommentRepository;
+import com.serbest.magazine.backend.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class CommentCountRepairJob {
+    private static final Logger logger = LoggerFactory.getLogger(CommentCountRepairJob.class);
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+
+    public CommentCountRepairJob(PostRepository postRepository, CommentRepository commentRepository) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+    }
+
+    // Post.commentCount and Comment.replyCount are maintained incrementally; the recounts only touch rows that drifted.
+    @Scheduled(cron = "${magazine.app.commentCountRepairCron:0 30 3 * * *}")
+    @Transactional
+    public int repairCommentCounts() {
+        int repaired = postRepository.recountComments();
+        if (repaired > 0) {
+            logger.warn("Repaired comment count of {} posts", repaired);
+        }
+        int repairedReplies = commentRepository.recountReplies();
+        if (repairedReplies > 0) {
+            logger.warn("Repaired reply count of {} comments", repairedReplies);
+        }
+        return repaired + repairedReplies;
+    }
+
+    // Counts added to existing tables start at 0, so they are filled in right after a deploy instead of at night.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void repairAfterStartup() {
+        repairCommentCounts();
+    }
+}
@@ -0,0 +1,168 @@
+package com.serbest.magazine.backend.job;
+
+import com.serbest.magazine.backend.entity.ImageModel;
+import com.serbest.magazine.backend.repository.AuthorRepository;
+import com.serbest.magazine.backend.repository.ImageModelRepository;
+import com.serbest.magazine.backend.repository.PostRepository;
+import com.serbest.magazine.backend.service.ImageModelService;
+import com.serbest.magazine.backend.service.StoredBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+// Moves the images still kept in the image_model table into the image store, a batch per transaction.
+// A migrated row records the stored name in migrated_to, so a stopped run carries on where it left off.
+// A failed row counts its attempts and is left alone after the last one, so it cannot use up every run.
+@Component
+public class ImageModelMigrationJob {
+    private static final Logger logger = LoggerFactory.getLogger(ImageModelMigrationJob.class);
+
+    private final ImageModelRepository imageModelRepository;
+    private final PostRepository postRepository;
+    private final AuthorRepository authorRepository;
+    private final ImageModelService imageModelService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int rowsPerRun;
+    private final int maxAttempts;
+
+    public ImageModelMigrationJob(ImageModelRepository imageModelRepository,
+                                  PostRepository postRepository,
+                                  AuthorRepository authorRepository,
+                                  ImageModelService imageModelService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${magazine.app.imageMigrationBatchSize:20}") int batchSize,
+                                  @Value("${magazine.app.imageMigrationRowsPerRun:1000}") int rowsPerRun,
+                                  @Value("${magazine.app.imageMigrationMaxAttempts:3}") int maxAttempts) {
+        this.imageModelRepository = imageModelRepository;
+        this.postRepository = postRepository;
+        this.authorRepository = authorRepository;
+        this.imageModelService = imageModelService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.rowsPerRun = rowsPerRun;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // Returns the number of rows migrated by this run.
+    @Scheduled(cron = "${magazine.app.imageMigrationCron:0 15 * * * *}")
+    public int migrateImages() {
+        MigrationProgress progress = new MigrationProgress();
+        while (progress.processed < rowsPerRun) {
+            int processed = progress.processed;
+            transactionTemplate.executeWithoutResult(status -> migrateBatch(progress));
+            if (progress.processed == processed) {
+                break;
+            }
+        }
+
+        if (progress.processed > 0) {
+            logger.info("Migrated {} images ({} bytes) out of image_model, {} failed, {} left, {} given up on",
+                    progress.migrated, progress.bytes, progress.processed - progress.migrated,
+                    imageModelRepository.countByMigratedToIsNull(),
+                    imageModelRepository.countByMigratedToIsNullAndMigrationAttemptsGreaterThanEqual(maxAttempts));
+        }
+        return progress.migrated;
+    }
+
+    private void migrateBatch(MigrationProgress progress) {
+        PageRequest page = PageRequest.of(0, Math.min(batchSize, rowsPerRun - progress.processed));
+        List<ImageModel> batch = progress.lastId == null
+                ? imageModelRepository.findUnmigrated(maxAttempts, page)
+                : imageModelRepository.findUnmigratedAfter(progress.lastId, maxAttempts, page);
+
+        for (ImageModel image : batch) {
+            progress.lastId = image.getId();
+            progress.processed++;
+            try {
+                long length = migrate(image);
+                progress.migrated++;
+                progress.bytes += length;
+            } catch (IOException | SQLException | RuntimeException e) {
+                // Left unmigrated, the next runs try it again until it ran out of attempts.
+                image.setMigrationAttempts(image.getMigrationAttempts() + 1);
+                imageModelRepository.save(image);
+                logger.warn("Could not migrate image {} ({}), attempt {} of {}: {}", image.getId(), image.getName(),
+                        image.getMigrationAttempts(), maxAttempts, e.getMessage());
+            }
+        }
+    }
+
+    private long migrate(ImageModel image) throws IOException, SQLException {
+        if (image.getPicByte() == null) {
+            throw new IOException("The row has no image bytes.");
+        }
+        long length = image.getPicByte().length();
+        String storedName;
+        try (InputStream inputStream = image.getPicByte().getBinaryStream()) {
+            // Stored as they are, so the copy can be checked against the row. The upload limits do not apply,
+            // otherwise rows over today's size limit could never be migrated and the table never dropped.
+            storedName = imageModelService.storeAsIs(inputStream, filename(image));
+        }
+        verify(storedName, length);
+
+        if (image.getName() != null) {
+            postRepository.replacePostImage(image.getName(), storedName);
+            authorRepository.replaceProfileImage(image.getName(), storedName);
+        }
+        image.setMigratedTo(storedName);
+        imageModelRepository.save(image);
+        return length;
+    }
+
+    // Reads the stored copy back and checks it against the name it was stored under.
+    private void verify(String storedName, long expectedLength) throws IOException {
+        StoredBlob blob = imageModelService.getBlob(storedName);
+        MessageDigest digest = sha256();
+        long length = 0;
+        try (InputStream inputStream = new DigestInputStream(blob.openStream(), digest)) {
+            byte[] buffer = new byte[8192];
+            for (int read = inputStream.read(buffer); read >= 0; read = inputStream.read(buffer)) {
+                length += read;
+            }
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        if (length != expectedLength || !hash.equals(imageModelService.storageKey(storedName))) {
+            throw new IOException("Stored copy " + storedName + " does not match the row.");
+        }
+    }
+
+    private static String filename(ImageModel image) {
+        if (image.getName() != null && image.getName().contains(".")) {
+            return image.getName();
+        }
+        // Fall back to the content type, e.g. image/png.
+        String type = image.getType();
+        return type != null && type.contains("/") ? "image." + type.substring(type.indexOf('/') + 1) : "image";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class MigrationProgress {
+        UUID lastId;
+        int processed;
+        int migrated;
+        long bytes;
+    }
+}
@@ -0,0 +1,45 @@
+package com.serbest.magazine.backend.job;
+
+import com.serbest.magazine.backend.repository.LikeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// The schema update only logs it when a unique key cannot be added, which is what happens while the
+// likes table still holds duplicates from before the keys. Toggling likes relies on the keys, so on
+// startup the duplicates are removed and missing keys are added here; startup fails if that does not work.
+@Component
+public class LikeKeyRepairJob {
+    private static final Logger logger = LoggerFactory.getLogger(LikeKeyRepairJob.class);
+
+    private final LikeRepository likeRepository;
+
+    public LikeKeyRepairJob(LikeRepository likeRepository) {
+        this.likeRepository = likeRepository;
+    }
+
+    // Runs before ApplicationReadyEvent, so the like index loads the deduplicated rows.
+    @EventListener(ContextRefreshedEvent.class)
+    @Transactional
+    public void repairLikeKeys() {
+        int removed = likeRepository.deleteDuplicatePostLikes() + likeRepository.deleteDuplicateCommentLikes();
+        if (removed > 0) {
+            logger.warn("Removed {} duplicate likes", removed);
+        }
+
+        List<String> keys = likeRepository.findUniqueConstraintNames();
+        if (!keys.contains("uk_likes_post_author")) {
+            logger.warn("Adding the missing unique key uk_likes_post_author");
+            likeRepository.addPostAuthorKey();
+        }
+        if (!keys.contains("uk_likes_comment_author")) {
+            logger.warn("Adding the missing unique key uk_likes_comment_author");
+            likeRepository.addCommentAuthorKey();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.serbest.magazine.backend.job;
+
+import com.google.common.collect.Iterators;
+import com.serbest.magazine.backend.repository.AuthorRepository;
+import com.serbest.magazine.backend.repository.PostRepository;
+import com.serbest.magazine.backend.service.ImageModelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Component
+public class OrphanedImageCleanupJob {
+    private static final Logger logger = LoggerFactory.getLogger(OrphanedImageCleanupJob.class);
+
+    private final ImageModelService imageModelService;
+    private final PostRepository postRepository;
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+    private final Duration gracePeriod;
+
+    public OrphanedImageCleanupJob(ImageModelService imageModelService,
+                                   PostRepository postRepository,
+                                   AuthorRepository authorRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${magazine.app.imageCleanupBatchSize:500}") int batchSize,
+                                   @Value("${magazine.app.imageCleanupGracePeriod:P1D}") Duration gracePeriod) {
+        this.imageModelService = imageModelService;
+        this.postRepository = postRepository;
+        this.authorRepository = authorRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.gracePeriod = gracePeriod;
+    }
+
+    // Deletes stored images no post or author refers to any more and returns the bytes freed.
+    // Images younger than the grace period are kept, their post may still be being saved.
+    @Scheduled(cron = "${magazine.app.imageCleanupCron:0 0 5 * * *}")
+    public long deleteOrphanedImages() {
+        long cutoff = System.currentTimeMillis() - gracePeriod.toMillis();
+        Set<String> referenced = readOnlyTransaction.execute(status -> referencedImages());
+        int deleted = 0;
+        long reclaimed = 0;
+
+        try (Stream<String> stored = imageModelService.storedImages()) {
+            Iterator<List<String>> batches = Iterators.partition(
+                    Iterators.filter(stored.iterator(), storageKey -> !referenced.contains(storageKey)), batchSize);
+            while (batches.hasNext()) {
+                List<String> batch = batches.next();
+                // Checked again in case one of them was referenced after the first scan.
+                Set<String> nowReferenced = readOnlyTransaction.execute(status -> referencedImagesAmong(batch));
+                for (String storageKey : batch) {
+                    if (nowReferenced.contains(storageKey)) {
+                        continue;
+                    }
+                    long freed = imageModelService.deleteIfOlderThan(storageKey, cutoff);
+                    if (freed >= 0) {
+                        deleted++;
+                        reclaimed += freed;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Orphaned image cleanup stopped: {}", e.getMessage());
+        }
+
+        if (deleted > 0) {
+            logger.info("Deleted {} orphaned images, reclaimed {} bytes", deleted, reclaimed);
+        }
+        return reclaimed;
+    }
+
+    private Set<String> referencedImages() {
+        Set<String> referenced = new HashSet<>();
+        try (Stream<String> images = postRepository.streamPostImages()) {
+            images.forEach(image -> referenced.add(imageModelService.storageKey(image)));
+        }
+        try (Stream<String> images = authorRepository.streamProfileImages()) {
+            images.forEach(image -> referenced.add(imageModelService.storageKey(image)));
+        }
+        return referenced;
+    }
+
+    private Set<String> referencedImagesAmong(List<String> storageKeys) {
+        Set<String> referenced = new HashSet<>();
+        for (String image : postRepository.findPostImagesByStorageKeyIn(storageKeys)) {
+            referenced.add(imageModelService.storageKey(image));
+        }
+        for (String image : authorRepository.findProfileImagesByStorageKeyIn(storageKeys)) {
+            referenced.add(imageModelService.storageKey(image));
+        }
+        return referenced;
+    }
+}
@@ -13,7 +13,7 @@ public class CategoryMapper {
         return new Category(categoryRequestDTO.getName(),true);
     }
 
-    public CategoryResponseDTO categoryToCategoryResponseDTO(Category category){
-        return new CategoryResponseDTO(category.getId(),category.getName(),0);
+    public CategoryResponseDTO categoryToCategoryResponseDTO(Category category, Integer postCounts){
+        return new CategoryResponseDTO(category.getId(),category.getName(),postCounts);
     }
 }
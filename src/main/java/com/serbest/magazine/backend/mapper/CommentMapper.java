@@ -6,6 +6,13 @@ import com.serbest.magazine.backend.dto.comment.CommentResponseDTO;
 import com.serbest.magazine.backend.entity.Comment;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
 @Component
 public class CommentMapper {
 
@@ -22,6 +29,35 @@ public class CommentMapper {
                 .username(comment.getAuthor().getUsername())
                 .updateDateTime(comment.getUpdateDateTime())
                 .userImage(comment.getAuthor().getProfileImage())
+                .parentId(comment.getParentId())
+                .depth(comment.getDepth())
+                .replyCount(comment.getReplyCount())
                 .build();
     }
+
+    // Nests the replies under their parents in one pass, keeping the order of the list among siblings.
+    // Comments whose parent is not in the list are returned as roots.
+    public List<CommentResponseDTO> toThreads(List<Comment> comments, Map<UUID, Integer> likeCounts, Set<UUID> liked) {
+        Map<UUID, CommentResponseDTO> byId = new HashMap<>(comments.size() * 2);
+        for (Comment comment : comments) {
+            CommentResponseDTO responseDTO = commentToCommentResponseDTO(comment);
+            responseDTO.setLikeCount((long) likeCounts.getOrDefault(comment.getId(), 0));
+            responseDTO.setLikedByCurrentUser(liked.contains(comment.getId()));
+            byId.put(comment.getId(), responseDTO);
+        }
+        List<CommentResponseDTO> roots = new ArrayList<>();
+        for (Comment comment : comments) {
+            CommentResponseDTO responseDTO = byId.get(comment.getId());
+            CommentResponseDTO parent = comment.getParentId() == null ? null : byId.get(comment.getParentId());
+            if (parent == null) {
+                roots.add(responseDTO);
+                continue;
+            }
+            if (parent.getReplies() == null) {
+                parent.setReplies(new ArrayList<>());
+            }
+            parent.getReplies().add(responseDTO);
+        }
+        return roots;
+    }
 }
@@ -1,26 +1,36 @@
 package com.serbest.magazine.backend.mapper;
 
 import com.serbest.magazine.backend.dto.post.*;
+import com.serbest.magazine.backend.entity.Category;
 import com.serbest.magazine.backend.entity.Post;
+import com.serbest.magazine.backend.service.CategoryRegistry;
 
+import org.hibernate.proxy.HibernateProxy;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Component
 public class PostMapper {
 
+    private final CategoryRegistry categoryRegistry;
+
+    public PostMapper(CategoryRegistry categoryRegistry) {
+        this.categoryRegistry = categoryRegistry;
+    }
+
     public PostResponseDTO postToPostResponseDTO(Post post){
         return PostResponseDTO.builder()
                 .id(post.getPostId())
                 .title(post.getTitle())
                 .subtitle(post.getSubtitle())
                 .content(post.getContent())
-                .category(post.getCategory().getName())
+                .category(categoryName(post.getCategory()))
                 .image(post.getPostImage())
                 .username(post.getAuthor().getUsername())
                 .profileImage(post.getAuthor().getProfileImage())
-                .comments(post.getComments().stream().count())
+                .comments(post.getCommentCount())
                 .createDateTime(post.getCreateDateTime())
                 .updateDateTime(post.getUpdateDateTime())
                 .build();
@@ -57,19 +67,23 @@ public class PostMapper {
                 .build();
     }
 
-    public FirstFivePostsListDTO postToFirstFivePostsListDTO(Post post) {
-        return new FirstFivePostsListDTO(post.getPostId(), post.getPostImage(), post.getTitle());
+    public FirstFivePostsListDTO postCardToFirstFivePostsListDTO(PostCardResponseDTO card) {
+        return new FirstFivePostsListDTO(card.getId(), card.getImage(), card.getImageWidth(), card.getImageHeight(),
+                card.getImagePlaceholder(), card.getTitle());
     }
 
-    public MainPagePostsListDTO postToMainPagePostsListDTO(Post post){
+    public MainPagePostsListDTO postCardToMainPagePostsListDTO(PostCardResponseDTO card){
         return MainPagePostsListDTO.builder()
-                .id(post.getPostId())
-                .title(post.getTitle())
-                .category(post.getCategory().getName())
-                .username(post.getAuthor().getUsername())
-                .image(post.getPostImage())
-                .comments(post.getComments().stream().count())
-                .createDateTime(post.getCreateDateTime())
+                .id(card.getId())
+                .title(card.getTitle())
+                .category(card.getCategory())
+                .username(card.getUsername())
+                .image(card.getImage())
+                .imageWidth(card.getImageWidth())
+                .imageHeight(card.getImageHeight())
+                .imagePlaceholder(card.getImagePlaceholder())
+                .comments(card.getComments())
+                .createDateTime(card.getCreateDateTime())
                 .build();
     }
 
@@ -77,9 +91,16 @@ public class PostMapper {
         return DeactivatedPostApiResponseDTO.builder()
                 .id(post.getPostId())
                 .title(post.getTitle())
-                .category(post.getCategory().getName())
+                .category(categoryName(post.getCategory()))
                 .username(post.getAuthor().getUsername())
                 .build();
     }
 
+    // Read from the registry's copy, so a category reference set on the post is not loaded just for its name.
+    private String categoryName(Category category) {
+        UUID id = category instanceof HibernateProxy proxy
+                ? (UUID) proxy.getHibernateLazyInitializer().getIdentifier()
+                : category.getId();
+        return categoryRegistry.findById(id).map(Category::getName).orElseGet(category::getName);
+    }
 }
@@ -57,6 +57,7 @@ public class UserMapper {
                 .lastName(author.getLastName())
                 .description(author.getDescription())
                 .image(author.getProfileImage())
+                .imagePlaceholder(author.getProfileImagePlaceholder())
                 .build();
     }
 
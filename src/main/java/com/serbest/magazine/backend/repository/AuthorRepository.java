@@ -4,12 +4,19 @@ import com.serbest.magazine.backend.dto.author.AuthorListResponseDTO;
 import com.serbest.magazine.backend.dto.user.AuthorResponseDTO;
 import com.serbest.magazine.backend.entity.Author;
 import com.serbest.magazine.backend.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Transactional
 public interface AuthorRepository extends JpaRepository<Author, UUID> {
@@ -20,9 +27,30 @@ public interface AuthorRepository extends JpaRepository<Author, UUID> {
 
     Optional<Author> findByUsername(String username);
 
+    @Query("select a.id FROM Author a WHERE a.username = :usernameOrEmail OR a.email = :usernameOrEmail")
+    Optional<UUID> findIdByUsernameOrEmail(String usernameOrEmail);
+
     Boolean existsByUsername(String username);
 
     Boolean existsByEmail(String email);
 
     List<Author> findByRolesIn(List<Role> roles);
+
+    // Only while the author still shows the image the placeholder was made from.
+    @Modifying
+    @Query("update Author a set a.profileImagePlaceholder = :placeholder " +
+            "WHERE a.id = :authorId AND a.profileImage = :profileImage")
+    int setProfileImagePlaceholder(UUID authorId, String profileImage, String placeholder);
+
+    @Modifying
+    @Query("update Author a set a.profileImage = :newImage WHERE a.profileImage = :oldImage")
+    int replaceProfileImage(String oldImage, String newImage);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select a.profileImage FROM Author a WHERE a.profileImage IS NOT NULL")
+    Stream<String> streamProfileImages();
+
+    // Images are stored as <hash>.<extension>, so matching the first 64 characters finds any extension.
+    @Query("select a.profileImage FROM Author a WHERE substring(a.profileImage, 1, 64) IN :storageKeys")
+    List<String> findProfileImagesByStorageKeyIn(Collection<String> storageKeys);
 }
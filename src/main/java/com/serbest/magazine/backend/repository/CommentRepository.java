@@ -1,17 +1,69 @@
 package com.serbest.magazine.backend.repository;
 
 import com.serbest.magazine.backend.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
-    @Query(
-            value = "select * from comments c where c.post=:postId order by c.create_date_time desc",
-            nativeQuery = true
-    )
-    List<Comment> findAll(UUID postId);
+    // The author is fetched in the same join, the mapper reads its username and image.
+    String COMMENT_SELECT = "select c FROM Comment c JOIN FETCH c.author WHERE c.post.postId = :postId ";
+
+    String AFTER_CURSOR = "AND c.createDateTime <= :createDateTime " +
+            "AND (c.createDateTime < :createDateTime OR c.id < :commentId) ";
+
+    String COMMENT_ORDER = "ORDER BY c.createDateTime DESC, c.id DESC";
+
+    @Query(COMMENT_SELECT + COMMENT_ORDER)
+    List<Comment> findNewestByPost(UUID postId, Pageable pageable);
+
+    @Query(COMMENT_SELECT + "AND c.parentId IS NULL " + COMMENT_ORDER)
+    List<Comment> findRootPageByPost(UUID postId, Pageable pageable);
+
+    @Query(COMMENT_SELECT + "AND c.parentId IS NULL " + AFTER_CURSOR + COMMENT_ORDER)
+    List<Comment> findRootPageByPostAfter(UUID postId, LocalDateTime createDateTime, UUID commentId, Pageable pageable);
+
+    @Query("select c FROM Comment c JOIN FETCH c.author WHERE c.id = :commentId")
+    Optional<Comment> findWithAuthorById(UUID commentId);
+
+    // Ranked among the replies that still exist, positions leave gaps once replies are deleted.
+    @Query("select c FROM Comment c JOIN FETCH c.author WHERE c.id IN (" +
+            "select r.id FROM (select s.id id, row_number() over (partition by s.parentId order by s.path) rank " +
+            "FROM Comment s WHERE s.parentId IN :parentIds) r WHERE r.rank <= :replies) ORDER BY c.path")
+    List<Comment> findFirstReplies(Collection<UUID> parentIds, int replies);
+
+    @Query(COMMENT_SELECT + "AND c.path > :path AND c.path < :pathEnd ORDER BY c.path")
+    List<Comment> findSubtree(UUID postId, String path, String pathEnd);
+
+    @Query("select c.id FROM Comment c WHERE c.post.postId = :postId AND c.path > :path AND c.path < :pathEnd")
+    List<UUID> findSubtreeIds(UUID postId, String path, String pathEnd);
+
+    @Query("select c.replySequence FROM Comment c WHERE c.id = :commentId")
+    Integer findReplySequence(UUID commentId);
+
+    @Modifying
+    @Query("update Comment c set c.replyCount = c.replyCount + 1, c.replySequence = c.replySequence + 1 " +
+            "WHERE c.id = :commentId")
+    int addReply(UUID commentId);
+
+    @Modifying
+    @Query("update Comment c set c.replyCount = c.replyCount - 1 WHERE c.id = :commentId")
+    int removeReply(UUID commentId);
+
+    @Modifying
+    @Query("delete FROM Comment c WHERE c.post.postId = :postId AND c.path > :path AND c.path < :pathEnd")
+    int deleteSubtree(UUID postId, String path, String pathEnd);
+
+    @Modifying
+    @Query("update Comment c set c.replyCount = (select count(r) FROM Comment r WHERE r.parentId = c.id) " +
+            "WHERE c.replyCount <> (select count(r) FROM Comment r WHERE r.parentId = c.id)")
+    int recountReplies();
 
 }
@@ -0,0 +1,30 @@
+package com.serbest.magazine.backend.repository;
+
+import com.serbest.magazine.backend.entity.ImageModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Transactional
+public interface ImageModelRepository extends JpaRepository<ImageModel, UUID> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "20"))
+    @Query("select i FROM ImageModel i WHERE i.migratedTo IS NULL AND i.migrationAttempts < :maxAttempts ORDER BY i.id")
+    List<ImageModel> findUnmigrated(int maxAttempts, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "20"))
+    @Query("select i FROM ImageModel i WHERE i.migratedTo IS NULL AND i.migrationAttempts < :maxAttempts " +
+            "AND i.id > :id ORDER BY i.id")
+    List<ImageModel> findUnmigratedAfter(UUID id, int maxAttempts, Pageable pageable);
+
+    long countByMigratedToIsNull();
+
+    long countByMigratedToIsNullAndMigrationAttemptsGreaterThanEqual(int maxAttempts);
+}
@@ -1,36 +1,86 @@
 package com.serbest.magazine.backend.repository;
 
-import com.serbest.magazine.backend.entity.Author;
-import com.serbest.magazine.backend.entity.Comment;
+import com.serbest.magazine.backend.dto.like.LikeRefDTO;
 import com.serbest.magazine.backend.entity.Like;
-import com.serbest.magazine.backend.entity.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface LikeRepository extends JpaRepository<Like, UUID> {
 
-    Like findByAuthorAndPost(Author author, Post post);
-
     @Modifying
     @Transactional
     @Query(value = "delete from likes l where l.post=:postId and l.author=:authorId",nativeQuery = true)
-    void deleteByPostAndAuthor(UUID postId, UUID authorId);
+    int deleteByPostAndAuthor(UUID postId, UUID authorId);
+
+    // Inserts nothing when the post does not exist.
+    @Modifying
+    @Transactional
+    @Query(value = "insert into likes (id, post, author) select :id, p.post_id, :authorId from posts p where p.post_id=:postId",
+            nativeQuery = true)
+    int insertPostLike(UUID id, UUID postId, UUID authorId);
 
-    Like findByAuthorAndComment(Author author, Comment comment);
+    @Modifying
+    @Transactional
+    @Query("delete FROM Like l WHERE l.comment.id IN (select c.id FROM Comment c " +
+            "WHERE c.post.postId = :postId AND c.path > :path AND c.path < :pathEnd)")
+    int deleteByCommentSubtree(UUID postId, String path, String pathEnd);
 
     @Modifying
     @Transactional
     @Query(value = "delete from likes l where l.comment=:commentId and l.author=:authorId",nativeQuery = true)
-    void deleteByCommentAndAuthor(UUID commentId, UUID authorId);
+    int deleteByCommentAndAuthor(UUID commentId, UUID authorId);
+
+    // Inserts nothing when the comment does not exist.
+    @Modifying
+    @Transactional
+    @Query(value = "insert into likes (id, comment, author) select :id, c.id, :authorId from comments c where c.id=:commentId",
+            nativeQuery = true)
+    int insertCommentLike(UUID id, UUID commentId, UUID authorId);
 
     @Query(value = "SELECT username FROM likes l JOIN authors a ON a.id = l.author WHERE l.post=:postId",nativeQuery = true)
     List<String> findLikedAuthorsByPostId(UUID postId);
 
     @Query(value = "SELECT username FROM likes l JOIN authors a ON a.id = l.author WHERE l.comment=:commentId",nativeQuery = true)
     List<String> findLikedAuthorsByCommentId(UUID commentId);
+
+    // Keeps the like with the lowest id of each author and post, or author and comment.
+    @Modifying
+    @Transactional
+    @Query(value = "delete from likes l where l.post is not null and exists (select 1 from likes d " +
+            "where d.post = l.post and d.author = l.author and d.id < l.id)", nativeQuery = true)
+    int deleteDuplicatePostLikes();
+
+    @Modifying
+    @Transactional
+    @Query(value = "delete from likes l where l.comment is not null and exists (select 1 from likes d " +
+            "where d.comment = l.comment and d.author = l.author and d.id < l.id)", nativeQuery = true)
+    int deleteDuplicateCommentLikes();
+
+    @Query(value = "select lower(constraint_name) from information_schema.table_constraints " +
+            "where lower(table_name) = 'likes' and constraint_type = 'UNIQUE'", nativeQuery = true)
+    List<String> findUniqueConstraintNames();
+
+    @Modifying
+    @Transactional
+    @Query(value = "alter table likes add constraint uk_likes_post_author unique (post, author)", nativeQuery = true)
+    void addPostAuthorKey();
+
+    @Modifying
+    @Transactional
+    @Query(value = "alter table likes add constraint uk_likes_comment_author unique (comment, author)", nativeQuery = true)
+    void addCommentAuthorKey();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.serbest.magazine.backend.dto.like.LikeRefDTO(l.author.id, l.post.postId, l.comment.id) " +
+            "FROM Like l")
+    Stream<LikeRefDTO> streamAll();
 }
@@ -1,36 +1,100 @@
 package com.serbest.magazine.backend.repository;
 
+import com.serbest.magazine.backend.dto.category.CategoryPostCountDTO;
+import com.serbest.magazine.backend.dto.post.PostCardResponseDTO;
 import com.serbest.magazine.backend.entity.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Transactional
 public interface PostRepository extends JpaRepository<Post, UUID> {
-    List<Post> findByActiveTrueOrderByCreateDateTimeDesc();
+    String POST_CARD_SELECT = "select new com.serbest.magazine.backend.dto.post.PostCardResponseDTO(" +
+            "p.postId, p.title, p.subtitle, c.name, a.username, a.profileImage, p.postImage, p.imageWidth, p.imageHeight, p.imagePlaceholder, " +
+            "p.commentCount, p.createDateTime) " +
+            "FROM Post p JOIN p.category c JOIN p.author a ";
+
+    String AFTER_CURSOR = "AND p.createDateTime <= :createDateTime " +
+            "AND (p.createDateTime < :createDateTime OR p.postId < :postId) ";
+
+    String FEED_ORDER = "ORDER BY p.createDateTime DESC, p.postId DESC";
 
     List<Post> findByActiveFalseOrderByCreateDateTimeDesc();
 
-    @Query("select p FROM Post p WHERE p.active=true ORDER BY RANDOM() LIMIT 3")
-    List<Post> findThreeActiveTrueByRandom();
+    @Query("select p.postId FROM Post p WHERE p.active=true")
+    List<UUID> findActivePostIds();
+
+    @Query(POST_CARD_SELECT + "WHERE p.active=true AND p.postId IN :postIds")
+    List<PostCardResponseDTO> findActiveCardsByPostIdIn(Collection<UUID> postIds);
+
+    @Query("select new com.serbest.magazine.backend.dto.category.CategoryPostCountDTO(p.category.id, count(p)) " +
+            "FROM Post p WHERE p.active=true GROUP BY p.category.id")
+    List<CategoryPostCountDTO> countActivePostsGroupByCategory();
+
+    @Modifying
+    @Query("update Post p set p.commentCount = p.commentCount + :delta WHERE p.postId = :postId")
+    int adjustCommentCount(UUID postId, long delta);
+
+    @Modifying
+    @Query("update Post p set p.commentCount = (select count(c) FROM Comment c WHERE c.post = p) " +
+            "WHERE p.commentCount <> (select count(c) FROM Comment c WHERE c.post = p)")
+    int recountComments();
+
+    @Query(POST_CARD_SELECT + "WHERE p.active=true " + FEED_ORDER)
+    List<PostCardResponseDTO> findActiveCards();
+
+    @Query(POST_CARD_SELECT + "WHERE p.active=true AND c.name = :categoryName " + FEED_ORDER)
+    List<PostCardResponseDTO> findActiveCardsByCategory(String categoryName);
+
+    @Query(POST_CARD_SELECT + "WHERE p.active=true AND a.username = :username " + FEED_ORDER)
+    List<PostCardResponseDTO> findActiveCardsByAuthor(String username);
+
+    @Query(POST_CARD_SELECT + "WHERE p.active=true " + FEED_ORDER)
+    List<PostCardResponseDTO> findActivePage(Pageable pageable);
+
+    @Query(POST_CARD_SELECT + "WHERE p.active=true " + AFTER_CURSOR + FEED_ORDER)
+    List<PostCardResponseDTO> findActivePageAfter(LocalDateTime createDateTime, UUID postId, Pageable pageable);
+
+    @Query(POST_CARD_SELECT + "WHERE p.active=true AND c.name = :categoryName " + FEED_ORDER)
+    List<PostCardResponseDTO> findActivePageByCategory(String categoryName, Pageable pageable);
 
-    @Query("select p FROM Post p WHERE p.active=true ORDER BY p.createDateTime DESC LIMIT 5")
-    List<Post> findFirstFiveActiveTrueByCreateDateTime();
+    @Query(POST_CARD_SELECT + "WHERE p.active=true AND c.name = :categoryName " + AFTER_CURSOR + FEED_ORDER)
+    List<PostCardResponseDTO> findActivePageByCategoryAfter(String categoryName, LocalDateTime createDateTime,
+                                                            UUID postId, Pageable pageable);
 
-    @Query("select p FROM Post p WHERE p.active=true ORDER BY p.createDateTime DESC LIMIT 4 OFFSET 5")
-    List<Post> findFourPostsActiveTrueByCreateDateTime();
+    @Query(POST_CARD_SELECT + "WHERE p.active=true AND a.username = :username " + FEED_ORDER)
+    List<PostCardResponseDTO> findActivePageByAuthor(String username, Pageable pageable);
 
-    @Query("select p FROM Post p WHERE p.active=true ORDER BY p.createDateTime DESC LIMIT 11 OFFSET 9")
-    List<Post> findFifteenActiveTrueByCreateDateTimeOffset5();
+    @Query(POST_CARD_SELECT + "WHERE p.active=true AND a.username = :username " + AFTER_CURSOR + FEED_ORDER)
+    List<PostCardResponseDTO> findActivePageByAuthorAfter(String username, LocalDateTime createDateTime, UUID postId,
+                                                          Pageable pageable);
 
-    List<Post> findAllByAuthorUsernameAndActiveTrueOrderByCreateDateTimeDesc(String username);
+    // Only while the post still shows the image the placeholder was made from.
+    @Modifying
+    @Query("update Post p set p.imagePlaceholder = :placeholder WHERE p.postId = :postId AND p.postImage = :postImage")
+    int setImagePlaceholder(UUID postId, String postImage, String placeholder);
 
-    List<Post> findAllByCategoryNameAndActiveTrueOrderByCreateDateTimeDesc(String categoryName);
+    @Modifying
+    @Query("update Post p set p.postImage = :newImage WHERE p.postImage = :oldImage")
+    int replacePostImage(String oldImage, String newImage);
 
-    Integer countByCategoryNameAndActiveTrue(String categoryName);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select p.postImage FROM Post p WHERE p.postImage IS NOT NULL")
+    Stream<String> streamPostImages();
 
+    // Images are stored as <hash>.<extension>, so matching the first 64 characters finds any extension.
+    @Query("select p.postImage FROM Post p WHERE substring(p.postImage, 1, 64) IN :storageKeys")
+    List<String> findPostImagesByStorageKeyIn(Collection<String> storageKeys);
 
 }
@@ -0,0 +1,31 @@
+package com.serbest.magazine.backend.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// BCryptPasswordEncoder only asks for a rehash when the stored cost is below its own, so lowering the
+// configured cost would leave every existing hash as it is. This one rehashes on any other cost.
+public class CostMatchingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    public CostMatchingBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (!matcher.find()) {
+            return super.upgradeEncoding(encodedPassword);
+        }
+        return Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
@@ -1,6 +1,8 @@
 package com.serbest.magazine.backend.security.jwt;
 
+import com.serbest.magazine.backend.security.services.TokenRevocationService;
 import com.serbest.magazine.backend.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,15 +23,23 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     JwtUtils jwtUtils;
     @Autowired
     UserDetailsServiceImpl userDetailsService;
+    @Autowired
+    TokenRevocationService tokenRevocationService;
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String jwt = getAccessTokenFromRequest(request);
 
-        if (jwt != null && jwtUtils.validateAccessToken(jwt)) {
-            String username = jwtUtils.getUserNameFromJwtToken(jwt);
+        if (jwt != null) {
+            Claims claims = jwtUtils.verifyAccessToken(jwt);
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = null;
+            if (!tokenRevocationService.isRevoked(claims.getSubject(), claims.getIssuedAt())) {
+                userDetails = jwtUtils.getUserDetailsFromClaims(claims);
+            }
+            if (userDetails == null) {
+                userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            }
 
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userDetails,
@@ -1,11 +1,15 @@
 package com.serbest.magazine.backend.security.jwt;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.serbest.magazine.backend.entity.Author;
+import com.serbest.magazine.backend.entity.Role;
 import com.serbest.magazine.backend.exception.CustomApplicationException;
 import com.serbest.magazine.backend.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -13,12 +17,22 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import org.springframework.web.util.WebUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
@@ -34,13 +48,34 @@ public class JwtUtils {
     @Value("${magazine.app.jwtRefreshCookieName}")
     private String jwtRefreshCookie;
 
+    @Value("${magazine.app.jwtStatelessPrincipal:true}")
+    private boolean statelessPrincipal;
+
+    @Value("${magazine.app.verifiedTokenCacheSize:10000}")
+    private long verifiedTokenCacheSize;
+
+    private Key accessTokenKey;
+    private JwtParser accessTokenParser;
+    // Claims of already verified access tokens, keyed by the token's SHA-256 hash.
+    private Cache<String, Claims> verifiedTokens;
+
+    private static final String ID_CLAIM = "id";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String AVATAR_CLAIM = "avatar";
+
     // Access Token
     public String generateAccessToken(UserDetailsImpl userDetails) {
-        return generateAccessTokenFromJWT(userDetails.getUsername());
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        return generateAccessTokenFromJWT(userDetails.getUsername(), userDetails.getId(), roles, userDetails.getImage());
     }
 
     public String generateAccessToken(Author author) {
-        return generateAccessTokenFromJWT(author.getUsername());
+        List<String> roles = author.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.toList());
+        return generateAccessTokenFromJWT(author.getUsername(), author.getId(), roles, author.getProfileImage());
     }
 
     public ResponseCookie generateRefreshJwtCookie(String refreshToken) {
@@ -59,28 +94,48 @@ public class JwtUtils {
     }
 
 
-    private Key generateAccessTokenKey(){
-        return Keys.hmacShaKeyFor(
+    @PostConstruct
+    void init() {
+        accessTokenKey = Keys.hmacShaKeyFor(
                 Decoders.BASE64.decode(accessTokenSecret)
         );
+        // The built parser is immutable and thread-safe.
+        accessTokenParser = Jwts.parserBuilder()
+                .setSigningKey(accessTokenKey)
+                .build();
+        verifiedTokens = CacheBuilder.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfterWrite(accessTokenExpirationMs, TimeUnit.MILLISECONDS)
+                .build();
     }
 
     public String getUserNameFromJwtToken(String token){
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(generateAccessTokenKey())
-                .build()
+        return verifyAccessToken(token).getSubject();
+    }
+
+    public Claims getClaimsFromJwtToken(String token){
+        return accessTokenParser
                 .parseClaimsJws(token)
                 .getBody();
-        String username = claims.getSubject();
-        return username;
     }
-    public boolean validateAccessToken(String accessToken) {
+
+    // Verifies the signature and expiry once and returns the claims. Repeated calls with the same
+    // token are served from the cache until the token's own expiry.
+    public Claims verifyAccessToken(String accessToken) {
+        String tokenHash = accessToken == null ? null : hash(accessToken);
+        if (tokenHash != null) {
+            Claims cached = verifiedTokens.getIfPresent(tokenHash);
+            if (cached != null) {
+                if (cached.getExpiration() == null || cached.getExpiration().after(new Date())) {
+                    return cached;
+                }
+                verifiedTokens.invalidate(tokenHash);
+            }
+        }
+
+        Claims claims;
         try{
-            Jwts.parserBuilder()
-                    .setSigningKey(generateAccessTokenKey())
-                    .build()
-                    .parse(accessToken);
-            return true;
+            claims = getClaimsFromJwtToken(accessToken);
         } catch (MalformedJwtException ex) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, "Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -90,17 +145,58 @@ public class JwtUtils {
         } catch (IllegalArgumentException ex) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, "JWT claims string is empty.");
         }
+
+        verifiedTokens.put(tokenHash, claims);
+        return claims;
     }
 
-    public String generateAccessTokenFromJWT(String username){
+    // Returns null when the principal has to be loaded from the database instead,
+    // e.g. for tokens issued before the claims were embedded.
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+        String id = claims.get(ID_CLAIM, String.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (!statelessPrincipal || id == null || roles == null) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toList());
+
+        return new UserDetailsImpl(
+                UUID.fromString(id),
+                claims.getSubject(),
+                null,
+                null,
+                claims.get(AVATAR_CLAIM, String.class),
+                authorities);
+    }
+    public boolean validateAccessToken(String accessToken) {
+        verifyAccessToken(accessToken);
+        return true;
+    }
+
+    public String generateAccessTokenFromJWT(String username, UUID id, List<String> roles, String avatar){
         return Jwts.builder()
                 .setSubject(username)
+                .claim(ID_CLAIM, id.toString())
+                .claim(ROLES_CLAIM, roles)
+                .claim(AVATAR_CLAIM, avatar)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + accessTokenExpirationMs))
-                .signWith(generateAccessTokenKey())
+                .signWith(accessTokenKey)
                 .compact();
     }
 
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
     private ResponseCookie generateCookie(String name, String value, String path) {
         ResponseCookie cookie = ResponseCookie.from(name, value).path("/").sameSite("None").maxAge(24 * 60 * 60).secure(true).httpOnly(true).build();
         return cookie;
@@ -0,0 +1,108 @@
+package com.serbest.magazine.backend.security.services;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Runs the password hashing work (login, register) on a small dedicated pool so a burst of logins
+// cannot occupy the request threads. When the queue is full new work is rejected right away.
+@Service
+public class PasswordHashingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private long loggedCompleted;
+
+    public PasswordHashingExecutor(@Value("${magazine.app.passwordHashThreads:0}") int threads,
+                                   @Value("${magazine.app.passwordHashQueueSize:32}") int queueSize) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.get();
+                } finally {
+                    record(System.nanoTime() - start);
+                }
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Too many login requests, please try again later.");
+        }
+    }
+
+    private void record(long nanos) {
+        completed.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getAverageLatencyMillis() {
+        long count = completed.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.get() / count);
+    }
+
+    public long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    @Scheduled(fixedDelayString = "${magazine.app.passwordHashStatsLogMs:300000}")
+    public void logStats() {
+        long count = completed.get();
+        if (count == loggedCompleted) {
+            return;
+        }
+        loggedCompleted = count;
+        logger.info("Password hashing: {} completed, {} rejected, avg {} ms, max {} ms, queue depth {}, active {}",
+                count, rejected.get(), getAverageLatencyMillis(), getMaxLatencyMillis(), getQueueDepth(), getActiveCount());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
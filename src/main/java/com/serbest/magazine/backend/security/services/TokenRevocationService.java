@@ -0,0 +1,34 @@
+package com.serbest.magazine.backend.security.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Remembers users whose roles, avatar or status changed, so access tokens issued before the change
+// fall back to a database lookup. Entries only need to outlive the access tokens they cover.
+@Service
+public class TokenRevocationService {
+
+    private final Cache<String, Long> revokedAt;
+
+    public TokenRevocationService(@Value("${magazine.app.accessTokenExpirationMs}") long accessTokenExpirationMs,
+                                  @Value("${magazine.app.tokenRevocationCacheSize:10000}") long maximumSize) {
+        this.revokedAt = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(accessTokenExpirationMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public void revokeIssuedTokens(String username) {
+        revokedAt.put(username, System.currentTimeMillis());
+    }
+
+    public boolean isRevoked(String username, Date issuedAt) {
+        Long revokedAtMillis = revokedAt.getIfPresent(username);
+        return revokedAtMillis != null && (issuedAt == null || issuedAt.getTime() <= revokedAtMillis);
+    }
+}
@@ -3,13 +3,14 @@ package com.serbest.magazine.backend.security.services;
 import com.serbest.magazine.backend.entity.Author;
 import com.serbest.magazine.backend.repository.AuthorRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final AuthorRepository authorRepository;
 
@@ -26,4 +27,14 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return UserDetailsImpl.build(author);
     }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Author author = authorRepository.findByUsernameOrEmail(user.getUsername(), user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username or email: " + user.getUsername()));
+        author.setPassword(newPassword);
+
+        return UserDetailsImpl.build(authorRepository.save(author));
+    }
 }
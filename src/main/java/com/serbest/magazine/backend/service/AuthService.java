@@ -5,11 +5,12 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseCookie;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 public interface AuthService {
 
-    RegisterResponseDTO register(RegisterRequestDTO requestDTO);
-    JWTAuthResponse login(HttpServletRequest request, LoginRequestDTO loginDto);
+    CompletableFuture<RegisterResponseDTO> register(RegisterRequestDTO requestDTO);
+    CompletableFuture<JWTAuthResponse> login(HttpServletRequest request, LoginRequestDTO loginDto);
     RefreshTokenResponseDTO refreshTokenHandle(HttpServletRequest request);
     ResponseCookie logout();
 }
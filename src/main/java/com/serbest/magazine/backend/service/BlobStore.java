@@ -0,0 +1,15 @@
+package com.serbest.magazine.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Stores image bytes under the hex SHA-256 of their content.
+public interface BlobStore {
+    String put(InputStream inputStream) throws IOException;
+    Optional<StoredBlob> get(String hash) throws IOException;
+    boolean delete(String hash) throws IOException;
+    // Lazily lists every stored hash, the stream has to be closed.
+    Stream<String> hashes() throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.serbest.magazine.backend.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+public interface CategoryPostCountService {
+    int getPostCount(UUID categoryId);
+    void postMoved(UUID fromCategoryId, UUID toCategoryId);
+}
@@ -0,0 +1,18 @@
+package com.serbest.magazine.backend.service;
+
+import com.serbest.magazine.backend.entity.Category;
+
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public interface CategoryRegistry {
+    Optional<Category> findByName(String name);
+    Optional<Category> findById(UUID id);
+    Optional<Category> getReferenceByName(String name);
+    List<Category> getActiveCategories();
+    void register(Category category);
+}
@@ -3,6 +3,7 @@ package com.serbest.magazine.backend.service;
 import com.serbest.magazine.backend.dto.comment.CommentRequestDTO;
 import com.serbest.magazine.backend.dto.comment.CommentResponseDTO;
 import com.serbest.magazine.backend.dto.general.MessageResponseDTO;
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.entity.Comment;
 
 import java.nio.file.AccessDeniedException;
@@ -13,6 +14,8 @@ public interface CommentService {
 
     CommentResponseDTO createComment(CommentRequestDTO requestDTO);
     List<CommentResponseDTO> getAllComments(String postId);
+    PageResponseDTO<CommentResponseDTO> getCommentsPage(String postId, String cursor, Integer size, Integer replies);
+    CommentResponseDTO getThread(String id);
     Comment findById(String id);
     MessageResponseDTO deleteById(String id) throws AccessDeniedException;
     CommentResponseDTO updateComment(String id, String content) throws AccessDeniedException;
@@ -0,0 +1,11 @@
+package com.serbest.magazine.backend.service;
+
+import com.serbest.magazine.backend.dto.post.HomePageResponseDTO;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public interface HomePageService {
+    HomePageResponseDTO getHomePage();
+    void invalidate();
+}
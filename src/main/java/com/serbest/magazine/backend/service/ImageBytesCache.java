@@ -0,0 +1,10 @@
+package com.serbest.magazine.backend.service;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public interface ImageBytesCache {
+    StoredBlob get(String key);
+    StoredBlob offer(String key, StoredBlob blob);
+    void invalidate(String key);
+}
@@ -1,14 +1,20 @@
 package com.serbest.magazine.backend.service;
 
-import org.springframework.core.io.Resource;
-
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.stream.Stream;
 
 
 public interface ImageModelService {
     void init();
-    Resource load(String filename);
+    StoredBlob getBlob(String filename);
+    Path getVariantDirectory();
+
+    String upload(InputStream inputStream,String filename) throws IOException;
+    String storeAsIs(InputStream inputStream, String filename) throws IOException;
 
-    void upload(InputStream inputStream,String filename) throws IOException;
+    String storageKey(String filename);
+    Stream<String> storedImages() throws IOException;
+    long deleteIfOlderThan(String storageKey, long cutoffMillis) throws IOException;
 }
@@ -0,0 +1,8 @@
+package com.serbest.magazine.backend.service;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public interface ImageOptimizer {
+    byte[] optimizeJpeg(byte[] jpeg);
+}
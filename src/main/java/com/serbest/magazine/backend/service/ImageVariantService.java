@@ -0,0 +1,15 @@
+package com.serbest.magazine.backend.service;
+
+import org.springframework.stereotype.Service;
+
+import java.awt.Dimension;
+import java.util.function.Consumer;
+
+@Service
+public interface ImageVariantService {
+    Dimension imageUploaded(String filename);
+    StoredBlob getVariant(String filename, int width);
+    int variantWidth(int width);
+    // Made on the variant thread after the variants queued before it; placeholderReady is called there.
+    void queuePlaceholder(String filename, Consumer<String> placeholderReady);
+}
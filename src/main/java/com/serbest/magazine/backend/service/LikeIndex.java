@@ -0,0 +1,34 @@
+package com.serbest.magazine.backend.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+// Like counts and who liked what, answered without querying the likes table.
+@Service
+public interface LikeIndex {
+
+    int countPostLikes(UUID postId);
+
+    int countCommentLikes(UUID commentId);
+
+    boolean hasLikedPost(UUID authorId, UUID postId);
+
+    boolean hasLikedComment(UUID authorId, UUID commentId);
+
+    Set<UUID> likedPostsAmong(UUID authorId, Collection<UUID> postIds);
+
+    Set<UUID> likedCommentsAmong(UUID authorId, Collection<UUID> commentIds);
+
+    // Called after a like of this instance was added or removed.
+    void postLikeChanged(UUID authorId, UUID postId, boolean liked);
+
+    void commentLikeChanged(UUID authorId, UUID commentId, boolean liked);
+
+    // Called after comments were deleted together with their likes.
+    void commentsDeleted(Collection<UUID> commentIds);
+
+    void rebuild();
+}
@@ -10,6 +10,8 @@ public interface LikeService {
 
     LikeResponseDTO like(LikeRequestDTO requestDTO) throws AccessDeniedException;
 
+    List<String> likedPosts(List<String> postIds) throws AccessDeniedException;
+
     List<String> likedUsersByPost(String postId);
 
     List<String> likedUsersByComment(String commentId);
@@ -1,5 +1,6 @@
 package com.serbest.magazine.backend.service;
 
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.dto.post.*;
 
 import org.springframework.stereotype.Service;
@@ -12,18 +13,22 @@ import java.util.List;
 public interface PostService {
     PostCreateResponseDTO createPost(PostRequestDTO requestDTO) throws IOException;
     PostCreateResponseDTO createPostEditor(PostCreateEditorRequestDTO requestDTO) throws IOException;
-    List<PostResponseDTO> getAllPosts();
+    List<PostCardResponseDTO> getAllPosts();
     List<FirstFivePostsListDTO> getFirstFivePosts();
     List<MainPagePostsListDTO> getFourPostsForTop();
     List<MainPagePostsListDTO> getPostsForMainPage();
+    HomePageResponseDTO getHomePage();
     List<DeactivatedPostApiResponseDTO> getDeactivatedPost();
     PostResponseDTO findById(String id);
     PostResponseDTO updatePost(String id, PostUpdateRequestDTO requestDTO) throws IOException;
     PostResponseDTO updatePostEditor(String id, PostUpdateEditorRequestDTO requestDTO) throws IOException;
     PostResponseDTO deactivatePost(String id) throws AccessDeniedException;
     PostResponseDTO activatePost(String id);
-    List<PostResponseDTO> getRandomThreePost();
-    List<PostResponseDTO> getPostsByCategory(String categoryName);
-    List<PostResponseDTO> findByUsername(String userId);
+    List<PostCardResponseDTO> getRandomThreePost();
+    List<PostCardResponseDTO> getPostsByCategory(String categoryName);
+    List<PostCardResponseDTO> findByUsername(String userId);
     Integer countsByCategoryName(String categoryName);
+    PageResponseDTO<PostCardResponseDTO> getPostsPage(String cursor, Integer size);
+    PageResponseDTO<PostCardResponseDTO> getPostsByCategoryPage(String categoryName, String cursor, Integer size);
+    PageResponseDTO<PostCardResponseDTO> findByUsernamePage(String username, String cursor, Integer size);
 }
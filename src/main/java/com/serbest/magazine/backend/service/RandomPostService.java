@@ -0,0 +1,15 @@
+package com.serbest.magazine.backend.service;
+
+import com.serbest.magazine.backend.dto.post.PostCardResponseDTO;
+
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public interface RandomPostService {
+    List<PostCardResponseDTO> getRandomPosts(int count);
+    void postActivated(UUID postId);
+    void postDeactivated(UUID postId);
+}
@@ -0,0 +1,95 @@
+package com.serbest.magazine.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+// Where the bytes of a stored image live: a region of a file on disk, and its memory mapping when the store has one.
+public class StoredBlob {
+
+    private final Path file;
+    private final long offset;
+    private final long length;
+    private final long lastModified;
+    private final ByteBuffer content;
+
+    public StoredBlob(Path file, long offset, long length, long lastModified) {
+        this(file, offset, length, lastModified, null);
+    }
+
+    public StoredBlob(Path file, long offset, long length, long lastModified, ByteBuffer content) {
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.content = content;
+    }
+
+    public static StoredBlob of(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return new StoredBlob(file, 0, attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    public InputStream openStream() throws IOException {
+        if (content != null) {
+            return new ByteBufferInputStream(content.duplicate());
+        }
+        return Files.newInputStream(file);
+    }
+
+    // A read-only view of the mapped bytes, or null when the blob is a plain file.
+    public ByteBuffer getContent() {
+        return content == null ? null : content.duplicate();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -11,7 +11,9 @@ import com.serbest.magazine.backend.mapper.UserMapper;
 import com.serbest.magazine.backend.repository.AuthorRepository;
 import com.serbest.magazine.backend.repository.RoleRepository;
 import com.serbest.magazine.backend.security.jwt.JwtUtils;
+import com.serbest.magazine.backend.security.services.PasswordHashingExecutor;
 import com.serbest.magazine.backend.security.services.RefreshTokenService;
+import com.serbest.magazine.backend.security.services.TokenRevocationService;
 import com.serbest.magazine.backend.security.services.UserDetailsImpl;
 import com.serbest.magazine.backend.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,12 +25,15 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,19 +45,27 @@ public class AuthServiceImpl implements AuthService {
     private final UserMapper userMapper;
     private final JwtUtils jwtUtils;
     private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthServiceImpl(AuthorRepository userRepository, AuthenticationManager authenticationManager,
-                           RoleRepository roleRepository, UserMapper userMapper, JwtUtils jwtUtils, RefreshTokenService refreshTokenService) {
+                           RoleRepository roleRepository, UserMapper userMapper, JwtUtils jwtUtils, RefreshTokenService refreshTokenService,
+                           TokenRevocationService tokenRevocationService, PasswordHashingExecutor passwordHashingExecutor,
+                           PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.authenticationManager = authenticationManager;
         this.roleRepository = roleRepository;
         this.userMapper = userMapper;
         this.jwtUtils = jwtUtils;
         this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
-    public RegisterResponseDTO register(RegisterRequestDTO requestDTO) {
+    public CompletableFuture<RegisterResponseDTO> register(RegisterRequestDTO requestDTO) {
 
         // add check for username exists in database
         if (userRepository.existsByUsername(requestDTO.getUsername())) {
@@ -64,10 +77,17 @@ public class AuthServiceImpl implements AuthService {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, "Email is already exists!");
         }
 
+        // Hash on the password hashing pool, then save in a short transaction.
+        return passwordHashingExecutor.submit(() -> {
+            Author user = userMapper.registerRequestDTOToUser(requestDTO);
+            return transactionTemplate.execute(status -> saveNewUser(user));
+        });
+    }
+
+    private RegisterResponseDTO saveNewUser(Author user) {
         List<Author> authors = userRepository.findAll().stream().collect(Collectors.toList());
 
         if (authors.size() == 0){
-            Author user = userMapper.registerRequestDTOToUser(requestDTO);
             Set<Role> roles = new HashSet<>();
 
             Role newAdminRole = roleRepository.save(new Role("ROLE_ADMIN"));
@@ -86,8 +106,6 @@ public class AuthServiceImpl implements AuthService {
 
         }
 
-        Author user = userMapper.registerRequestDTOToUser(requestDTO);
-
         Set<Role> roles = new HashSet<>();
         Role userRole = roleRepository.findByName("ROLE_USER").get();
         roles.add(userRole);
@@ -99,13 +117,15 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    public JWTAuthResponse login(HttpServletRequest request, LoginRequestDTO loginDto) {
+    public CompletableFuture<JWTAuthResponse> login(HttpServletRequest request, LoginRequestDTO loginDto) {
+        return passwordHashingExecutor.submit(() -> authenticate(loginDto));
+    }
 
+    // Runs on the password hashing pool, so the authentication is not put into that thread's security context.
+    private JWTAuthResponse authenticate(LoginRequestDTO loginDto) {
         Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
                 loginDto.getUsernameOrEmail(), loginDto.getPassword()));
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
         String accessToken = jwtUtils.generateAccessToken(userDetails);
@@ -157,6 +177,7 @@ public class AuthServiceImpl implements AuthService {
         if (principle.toString() != "anonymousUser") {
             String username = ((UserDetailsImpl) principle).getUsername();
             refreshTokenService.deleteByUsername(username);
+            tokenRevocationService.revokeIssuedTokens(username);
         }
 
         ResponseCookie jwtRefreshCookie = jwtUtils.getCleanJwtRefreshCookie();
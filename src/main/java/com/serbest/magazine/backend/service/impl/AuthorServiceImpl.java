@@ -12,8 +12,10 @@ import com.serbest.magazine.backend.mapper.UserMapper;
 import com.serbest.magazine.backend.repository.AuthorRepository;
 import com.serbest.magazine.backend.repository.RoleRepository;
 import com.serbest.magazine.backend.security.CheckAuthorization;
+import com.serbest.magazine.backend.security.services.TokenRevocationService;
 import com.serbest.magazine.backend.service.AuthorService;
 import com.serbest.magazine.backend.service.ImageModelService;
+import com.serbest.magazine.backend.service.ImageVariantService;
 import com.serbest.magazine.backend.util.UploadImage;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -31,14 +33,19 @@ public class AuthorServiceImpl implements AuthorService {
     private final UserMapper userMapper;
     private final CheckAuthorization checkAuthorization;
     private final ImageModelService imageModelService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ImageVariantService imageVariantService;
 
     public AuthorServiceImpl(RoleRepository roleRepository, AuthorRepository authorRepository, UserMapper userMapper,
-                             CheckAuthorization checkAuthorization, ImageModelService imageModelService) {
+                             CheckAuthorization checkAuthorization, ImageModelService imageModelService,
+                             TokenRevocationService tokenRevocationService, ImageVariantService imageVariantService) {
         this.roleRepository = roleRepository;
         this.authorRepository = authorRepository;
         this.userMapper = userMapper;
         this.checkAuthorization = checkAuthorization;
         this.imageModelService = imageModelService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.imageVariantService = imageVariantService;
     }
 
     @Override
@@ -87,10 +94,19 @@ public class AuthorServiceImpl implements AuthorService {
 
         try {
             if (!requestDTO.getImageProtect()) {
+                filename = imageModelService.upload(requestDTO.getImage().getInputStream(),filename);
                 author.setProfileImage(filename);
-                imageModelService.upload(requestDTO.getImage().getInputStream(),filename);
+                author.setProfileImagePlaceholder(null);
+                imageVariantService.imageUploaded(filename);
             }
-            return userMapper.authorToAuthorResponseDTO(authorRepository.save(author));
+            Author savedAuthor = saveAndRevokeTokens(author);
+            if (!requestDTO.getImageProtect()) {
+                // Made in the background once the row is saved.
+                String profileImage = filename;
+                imageVariantService.queuePlaceholder(profileImage, placeholder -> authorRepository
+                        .setProfileImagePlaceholder(savedAuthor.getId(), profileImage, placeholder));
+            }
+            return userMapper.authorToAuthorResponseDTO(savedAuthor);
         } catch (Exception e) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
@@ -111,7 +127,7 @@ public class AuthorServiceImpl implements AuthorService {
 
         author.setRoles(userRoles);
 
-        return userMapper.authorToAuthorResponseDTO(authorRepository.save(author));
+        return userMapper.authorToAuthorResponseDTO(saveAndRevokeTokens(author));
     }
 
     @Override
@@ -130,7 +146,7 @@ public class AuthorServiceImpl implements AuthorService {
 
         author.setRoles(userRoles);
 
-        return userMapper.authorToAuthorResponseDTO(authorRepository.save(author));
+        return userMapper.authorToAuthorResponseDTO(saveAndRevokeTokens(author));
     }
 
     @Override
@@ -154,7 +170,7 @@ public class AuthorServiceImpl implements AuthorService {
     public AuthorResponseDTO deactivateUser(String userId) throws AccessDeniedException {
         Author author = getAuthor(userId);
         author.setActive(false);
-        return userMapper.authorToAuthorResponseDTO(authorRepository.save(author));
+        return userMapper.authorToAuthorResponseDTO(saveAndRevokeTokens(author));
     }
 
     @Override
@@ -164,6 +180,13 @@ public class AuthorServiceImpl implements AuthorService {
         );
         author.setRoles(new HashSet<>());
         authorRepository.delete(author);
+        tokenRevocationService.revokeIssuedTokens(author.getUsername());
+    }
+
+    private Author saveAndRevokeTokens(Author author) {
+        Author savedAuthor = authorRepository.save(author);
+        tokenRevocationService.revokeIssuedTokens(savedAuthor.getUsername());
+        return savedAuthor;
     }
 
     private Author getAuthor(String userId) throws AccessDeniedException {
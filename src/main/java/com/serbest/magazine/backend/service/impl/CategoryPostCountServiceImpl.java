@@ -0,0 +1,76 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.dto.category.CategoryPostCountDTO;
+import com.serbest.magazine.backend.repository.PostRepository;
+import com.serbest.magazine.backend.service.CategoryPostCountService;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class CategoryPostCountServiceImpl implements CategoryPostCountService {
+
+    private final PostRepository postRepository;
+    private final Map<UUID, AtomicInteger> postCounts = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public CategoryPostCountServiceImpl(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    public int getPostCount(UUID categoryId) {
+        ensureLoaded();
+        AtomicInteger postCount = postCounts.get(categoryId);
+        return postCount == null ? 0 : postCount.get();
+    }
+
+    // A null category means the post is not counted anywhere (new, or inactive).
+    @Override
+    public void postMoved(UUID fromCategoryId, UUID toCategoryId) {
+        if (Objects.equals(fromCategoryId, toCategoryId)) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            if (fromCategoryId != null) {
+                postCounts.computeIfAbsent(fromCategoryId, id -> new AtomicInteger()).decrementAndGet();
+            }
+            if (toCategoryId != null) {
+                postCounts.computeIfAbsent(toCategoryId, id -> new AtomicInteger()).incrementAndGet();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            postCounts.clear();
+            for (CategoryPostCountDTO count : postRepository.countActivePostsGroupByCategory()) {
+                postCounts.put(count.getCategoryId(), new AtomicInteger(count.getPostCount().intValue()));
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.entity.Category;
+import com.serbest.magazine.backend.repository.CategoryRepository;
+import com.serbest.magazine.backend.service.CategoryRegistry;
+
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Detached copies of every category; the returned Category objects are shared and must not be modified.
+@Service
+public class CategoryRegistryImpl implements CategoryRegistry {
+    private static final long MISSING_NAME_TTL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int MAX_MISSING_NAMES = 1000;
+
+    private final CategoryRepository categoryRepository;
+    private volatile Snapshot snapshot;
+    // Names the repository did not know either, with when they may be asked again.
+    private final Map<String, Long> missingNames = new ConcurrentHashMap<>();
+
+    public CategoryRegistryImpl(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Override
+    public Optional<Category> findByName(String name) {
+        Category category = snapshot().byName.get(name);
+        if (category != null) {
+            return Optional.of(category);
+        }
+        // Categories written by another instance are picked up on the first miss after the miss expired.
+        Long retryAt = missingNames.get(name);
+        if (retryAt != null && retryAt - System.nanoTime() > 0) {
+            return Optional.empty();
+        }
+        Optional<Category> found = categoryRepository.findByName(name).map(this::registerCopy);
+        if (found.isEmpty()) {
+            if (missingNames.size() >= MAX_MISSING_NAMES) {
+                missingNames.clear();
+            }
+            missingNames.put(name, System.nanoTime() + MISSING_NAME_TTL_NANOS);
+        }
+        return found;
+    }
+
+    @Override
+    public Optional<Category> findById(UUID id) {
+        Category category = snapshot().byId.get(id);
+        if (category != null) {
+            return Optional.of(category);
+        }
+        return categoryRepository.findById(id).map(this::registerCopy);
+    }
+
+    @Override
+    public Optional<Category> getReferenceByName(String name) {
+        return findByName(name).map(category -> categoryRepository.getReferenceById(category.getId()));
+    }
+
+    @Override
+    public List<Category> getActiveCategories() {
+        return snapshot().active;
+    }
+
+    @Override
+    public void register(Category category) {
+        registerCopy(category);
+    }
+
+    private synchronized Category registerCopy(Category category) {
+        Category copy = new Category(category.getId(), category.getName(), category.getActive());
+        Map<UUID, Category> byId = new HashMap<>(snapshot().byId);
+        byId.put(copy.getId(), copy);
+        snapshot = new Snapshot(byId.values());
+        missingNames.remove(copy.getName());
+        return copy;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                List<Category> categories = new ArrayList<>();
+                for (Category category : categoryRepository.findAll()) {
+                    categories.add(new Category(category.getId(), category.getName(), category.getActive()));
+                }
+                snapshot = new Snapshot(categories);
+            }
+            return snapshot;
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<UUID, Category> byId;
+        private final Map<String, Category> byName;
+        private final List<Category> active;
+
+        private Snapshot(Collection<Category> categories) {
+            Map<UUID, Category> byId = new HashMap<>();
+            Map<String, Category> byName = new HashMap<>();
+            List<Category> active = new ArrayList<>();
+            for (Category category : categories) {
+                byId.put(category.getId(), category);
+                byName.put(category.getName(), category);
+                if (Boolean.TRUE.equals(category.getActive())) {
+                    active.add(category);
+                }
+            }
+            this.byId = Map.copyOf(byId);
+            this.byName = Map.copyOf(byName);
+            active.sort(Comparator.comparing(Category::getName));
+            this.active = List.copyOf(active);
+        }
+    }
+}
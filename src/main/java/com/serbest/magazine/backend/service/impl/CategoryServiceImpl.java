@@ -9,6 +9,8 @@ import com.serbest.magazine.backend.exception.ResourceNotFoundException;
 import com.serbest.magazine.backend.mapper.CategoryMapper;
 import com.serbest.magazine.backend.repository.CategoryRepository;
 import com.serbest.magazine.backend.repository.PostRepository;
+import com.serbest.magazine.backend.service.CategoryPostCountService;
+import com.serbest.magazine.backend.service.CategoryRegistry;
 import com.serbest.magazine.backend.service.CategoryService;
 import io.jsonwebtoken.lang.Assert;
 import org.springframework.http.HttpStatus;
@@ -25,11 +27,16 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final PostRepository postRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryPostCountService categoryPostCountService;
+    private final CategoryRegistry categoryRegistry;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, PostRepository postRepository, CategoryMapper categoryMapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, PostRepository postRepository, CategoryMapper categoryMapper,
+                               CategoryPostCountService categoryPostCountService, CategoryRegistry categoryRegistry) {
         this.categoryRepository = categoryRepository;
         this.postRepository = postRepository;
         this.categoryMapper = categoryMapper;
+        this.categoryPostCountService = categoryPostCountService;
+        this.categoryRegistry = categoryRegistry;
     }
 
 
@@ -39,6 +46,7 @@ public class CategoryServiceImpl implements CategoryService {
         checkValidateAndSanitizeInput(categoryRequestDTO.getName());
         try {
             Category category = categoryRepository.save(categoryMapper.categoryRequestToCategory(categoryRequestDTO));
+            categoryRegistry.register(category);
             return new MessageResponseDTO("New Category " + category.getName() + " created!");
         } catch (Exception e) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, e.getMessage());
@@ -47,9 +55,10 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public List<CategoryResponseDTO> getAllCategory() {
-        List<Category> categories = categoryRepository.findByActiveTrue();
+        List<Category> categories = categoryRegistry.getActiveCategories();
         return categories.stream()
-                .map(categoryMapper::categoryToCategoryResponseDTO)
+                .map(category -> categoryMapper.categoryToCategoryResponseDTO(
+                        category, categoryPostCountService.getPostCount(category.getId())))
                 .collect(Collectors.toList());
     }
 
@@ -65,6 +74,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         try {
             Category updatedcat = categoryRepository.save(category);
+            categoryRegistry.register(updatedcat);
 
             return new MessageResponseDTO("Category with id : " + id + " updated with new name : " + updatedcat.getName());
         } catch (Exception e) {
@@ -83,6 +93,7 @@ public class CategoryServiceImpl implements CategoryService {
         try {
             category.setActive(false);
             Category categoryDeleted = categoryRepository.save(category);
+            categoryRegistry.register(categoryDeleted);
             return new MessageResponseDTO("Category with id : " + categoryDeleted.getId() + " is deleted.");
         } catch (Exception e) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, e.getMessage());
@@ -3,6 +3,7 @@ package com.serbest.magazine.backend.service.impl;
 import com.serbest.magazine.backend.dto.comment.CommentRequestDTO;
 import com.serbest.magazine.backend.dto.comment.CommentResponseDTO;
 import com.serbest.magazine.backend.dto.general.MessageResponseDTO;
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.entity.Author;
 import com.serbest.magazine.backend.entity.Comment;
 import com.serbest.magazine.backend.entity.Post;
@@ -11,43 +12,69 @@ import com.serbest.magazine.backend.exception.ResourceNotFoundException;
 import com.serbest.magazine.backend.mapper.CommentMapper;
 import com.serbest.magazine.backend.repository.AuthorRepository;
 import com.serbest.magazine.backend.repository.CommentRepository;
+import com.serbest.magazine.backend.repository.LikeRepository;
 import com.serbest.magazine.backend.repository.PostRepository;
 import com.serbest.magazine.backend.service.CommentService;
+import com.serbest.magazine.backend.service.HomePageService;
+import com.serbest.magazine.backend.service.LikeIndex;
 
 import com.serbest.magazine.backend.security.CheckAuthorization;
+import com.serbest.magazine.backend.security.services.UserDetailsImpl;
+import com.serbest.magazine.backend.util.CommentPath;
+import com.serbest.magazine.backend.util.PageCursor;
+import com.google.common.base.Strings;
 import io.jsonwebtoken.lang.Assert;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.file.AccessDeniedException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class CommentServiceImpl implements CommentService {
 
+    private static final int DEFAULT_REPLIES = 3;
+    private static final int MAX_REPLIES = 20;
+
     private final CheckAuthorization checkAuthorization;
     private final CommentMapper commentMapper;
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
+    private final LikeRepository likeRepository;
     private final AuthorRepository userRepository;
+    private final HomePageService homePageService;
+    private final LikeIndex likeIndex;
 
 
     public CommentServiceImpl(
             CheckAuthorization checkAuthorization, CommentMapper commentMapper,
             CommentRepository commentRepository,
-            PostRepository postRepository, AuthorRepository userRepository) {
+            PostRepository postRepository, LikeRepository likeRepository, AuthorRepository userRepository,
+            HomePageService homePageService, LikeIndex likeIndex) {
         this.checkAuthorization = checkAuthorization;
         this.commentMapper = commentMapper;
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
+        this.likeRepository = likeRepository;
         this.userRepository = userRepository;
+        this.homePageService = homePageService;
+        this.likeIndex = likeIndex;
     }
 
     @Override
+    @Transactional
     public CommentResponseDTO createComment(CommentRequestDTO requestDTO) {
         validateAndSanitizeFieldName("PostId", requestDTO.getPostId());
         validateAndSanitizeFieldName("Content", requestDTO.getContent());
@@ -63,10 +90,16 @@ public class CommentServiceImpl implements CommentService {
                 () -> new ResourceNotFoundException("Post", "id", requestDTO.getPostId())
         );
 
+        Comment reply = new Comment(requestDTO.getContent(), post, user);
+        if (!Strings.isNullOrEmpty(requestDTO.getParentId())) {
+            attachToParent(reply, post, requestDTO.getParentId());
+        }
+
         try {
-            return commentMapper.commentToCommentResponseDTO(
-                    commentRepository.save(new Comment(requestDTO.getContent(), post, user))
-            );
+            Comment comment = commentRepository.save(reply);
+            postRepository.adjustCommentCount(post.getPostId(), 1);
+            homePageService.invalidate();
+            return commentMapper.commentToCommentResponseDTO(comment);
         } catch (Exception e) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
@@ -74,9 +107,12 @@ public class CommentServiceImpl implements CommentService {
 
     }
 
+    // Kept for older clients: the newest comments and replies of the post, flat and capped at one full page.
+    // Older comments are only reachable through getCommentsPage.
     @Override
     public List<CommentResponseDTO> getAllComments(String postId) {
-        List<Comment> comments = commentRepository.findAll(UUID.fromString(postId));
+        List<Comment> comments = commentRepository.findNewestByPost(UUID.fromString(postId),
+                PageRequest.of(0, PageCursor.MAX_PAGE_SIZE));
 
         return comments
                 .stream()
@@ -84,6 +120,96 @@ public class CommentServiceImpl implements CommentService {
                 .collect(Collectors.toList());
     }
 
+    // Takes the next reply position from the parent, which also locks its row until the reply is saved.
+    private void attachToParent(Comment reply, Post post, String parentId) {
+        Comment parent = commentRepository.findById(UUID.fromString(parentId)).orElseThrow(
+                () -> new ResourceNotFoundException("Comment", "id", parentId)
+        );
+        if (!parent.getPost().getPostId().equals(post.getPostId())) {
+            throw new CustomApplicationException(HttpStatus.BAD_REQUEST, "Reply must belong to the post of its comment.");
+        }
+        if (parent.getDepth() >= CommentPath.MAX_DEPTH) {
+            throw new CustomApplicationException(HttpStatus.BAD_REQUEST,
+                    "Replies can not be nested deeper than " + CommentPath.MAX_DEPTH + " levels.");
+        }
+
+        commentRepository.addReply(parent.getId());
+        int position = commentRepository.findReplySequence(parent.getId());
+
+        reply.setParentId(parent.getId());
+        reply.setDepth(parent.getDepth() + 1);
+        reply.setPosition(position);
+        reply.setPath(CommentPath.child(parent.getPath(), position));
+    }
+
+    // A page of thread roots, each with its first replies, and the like counts of all of them from the like index.
+    @Override
+    public PageResponseDTO<CommentResponseDTO> getCommentsPage(String postId, String cursor, Integer size,
+                                                               Integer replies) {
+        validateAndSanitizeFieldName("PostId", postId);
+        UUID post = UUID.fromString(postId);
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        int replyCount = replies == null || replies < 0 ? DEFAULT_REPLIES : Math.min(replies, MAX_REPLIES);
+
+        List<Comment> comments = pageCursor == null
+                ? commentRepository.findRootPageByPost(post, PageCursor.pageable(pageSize))
+                : commentRepository.findRootPageByPostAfter(post, pageCursor.getCreateDateTime(), pageCursor.getId(),
+                PageCursor.pageable(pageSize));
+
+        PageResponseDTO<Comment> roots = PageCursor.toPage(comments, pageSize,
+                comment -> new PageCursor(comment.getCreateDateTime(), comment.getId()),
+                Function.identity());
+
+        List<Comment> thread = new ArrayList<>(roots.getContent());
+        List<UUID> parentIds = roots.getContent().stream()
+                .filter(comment -> comment.getReplyCount() > 0)
+                .map(Comment::getId)
+                .collect(Collectors.toList());
+        if (replyCount > 0 && !parentIds.isEmpty()) {
+            thread.addAll(commentRepository.findFirstReplies(parentIds, replyCount));
+        }
+        return new PageResponseDTO<>(toThreads(thread), roots.getNext());
+    }
+
+    // The comment with all of its replies nested, read with one range scan over the thread's paths.
+    @Override
+    public CommentResponseDTO getThread(String id) {
+        validateAndSanitizeFieldName("CommentId", id);
+        Comment comment = commentRepository.findWithAuthorById(UUID.fromString(id)).orElseThrow(
+                () -> new ResourceNotFoundException("Comment", "id", id)
+        );
+
+        List<Comment> thread = new ArrayList<>();
+        thread.add(comment);
+        thread.addAll(commentRepository.findSubtree(comment.getPost().getPostId(), comment.getPath(),
+                CommentPath.subtreeEnd(comment.getPath())));
+        return toThreads(thread).get(0);
+    }
+
+    private List<CommentResponseDTO> toThreads(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return commentMapper.toThreads(comments, Map.of(), Set.of());
+        }
+        List<UUID> commentIds = comments.stream().map(Comment::getId).collect(Collectors.toList());
+        Map<UUID, Integer> likeCounts = commentIds.stream()
+                .collect(Collectors.toMap(Function.identity(), likeIndex::countCommentLikes));
+        return commentMapper.toThreads(comments, likeCounts, likeIndex.likedCommentsAmong(currentAuthorId(), commentIds));
+    }
+
+    // Null when nobody is signed in, so no comment counts as liked.
+    private UUID currentAuthorId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof UserDetailsImpl userDetails && userDetails.getId() != null) {
+            return userDetails.getId();
+        }
+        return userRepository.findIdByUsernameOrEmail(authentication.getName()).orElse(null);
+    }
+
     @Override
     public Comment findById(String id) {
         validateAndSanitizeFieldName("CommentId", id);
@@ -93,11 +219,25 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional
     public MessageResponseDTO deleteById(String id) throws AccessDeniedException {
         validateAndSanitizeFieldName("CommentId", id);
         Comment comment = getComment(id);
 
+        // Replies go with the comment.
+        UUID postId = comment.getPost().getPostId();
+        String pathEnd = CommentPath.subtreeEnd(comment.getPath());
+        List<UUID> deleted = new ArrayList<>(commentRepository.findSubtreeIds(postId, comment.getPath(), pathEnd));
+        deleted.add(comment.getId());
+        likeRepository.deleteByCommentSubtree(postId, comment.getPath(), pathEnd);
+        int replies = commentRepository.deleteSubtree(postId, comment.getPath(), pathEnd);
         commentRepository.deleteById(comment.getId());
+        likeIndex.commentsDeleted(deleted);
+        if (comment.getParentId() != null) {
+            commentRepository.removeReply(comment.getParentId());
+        }
+        postRepository.adjustCommentCount(postId, -1 - replies);
+        homePageService.invalidate();
         return new MessageResponseDTO("Comment with id : " + id + " is deleted.");
 
     }
@@ -0,0 +1,109 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.service.BlobStore;
+import com.serbest.magazine.backend.service.StoredBlob;
+import com.serbest.magazine.backend.util.UploadImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// One file per blob, fanned out as blobs/ab/cd/abcd... so no directory grows too large.
+@Service
+@ConditionalOnProperty(name = "magazine.app.imageStore", havingValue = "files", matchIfMissing = true)
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    @Autowired
+    public FileSystemBlobStore(@Value("${spring.profiles.active:}") String activeProfile) {
+        this(UploadImage.getUploadRoot(activeProfile).resolve("blobs"));
+    }
+
+    FileSystemBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String put(InputStream inputStream) throws IOException {
+        Path temporaryDirectory = Files.createDirectories(root.resolve("tmp"));
+        Path temp = Files.createTempFile(temporaryDirectory, "upload", ".tmp");
+        try {
+            // The content is hashed while it is written, so it is read only once.
+            MessageDigest digest = sha256();
+            try (InputStream digestStream = new DigestInputStream(inputStream, digest)) {
+                Files.copy(digestStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            Path target = path(hash);
+            try {
+                // Stored again, so an orphan being uploaded anew gets a fresh grace period before the cleanup.
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (NoSuchFileException e) {
+                Files.createDirectories(target.getParent());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<StoredBlob> get(String hash) throws IOException {
+        if (!HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(StoredBlob.of(path(hash)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean delete(String hash) throws IOException {
+        return HASH.matcher(hash).matches() && Files.deleteIfExists(path(hash));
+    }
+
+    @Override
+    public Stream<String> hashes() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        return Files.walk(root, 3)
+                .filter(Files::isRegularFile)
+                .map(file -> file.getFileName().toString())
+                .filter(name -> HASH.matcher(name).matches());
+    }
+
+    private Path path(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.dto.post.HomePageResponseDTO;
+import com.serbest.magazine.backend.dto.post.PostCardResponseDTO;
+import com.serbest.magazine.backend.mapper.PostMapper;
+import com.serbest.magazine.backend.repository.PostRepository;
+import com.serbest.magazine.backend.service.HomePageService;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Service
+public class HomePageServiceImpl implements HomePageService {
+    static final int HERO_SIZE = 5;
+    static final int TOP_SIZE = 4;
+    static final int HOME_PAGE_SIZE = 20;
+
+    private final PostRepository postRepository;
+    private final PostMapper postMapper;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public HomePageServiceImpl(PostRepository postRepository, PostMapper postMapper) {
+        this.postRepository = postRepository;
+        this.postMapper = postMapper;
+    }
+
+    @Override
+    public HomePageResponseDTO getHomePage() {
+        long currentGeneration = generation.get();
+        Snapshot current = snapshot;
+        if (current != null && current.generation == currentGeneration) {
+            return current.homePage;
+        }
+
+        // An invalidation racing with this load bumps the generation, so the next read rebuilds again.
+        HomePageResponseDTO homePage = load();
+        snapshot = new Snapshot(currentGeneration, homePage);
+        return homePage;
+    }
+
+    @Override
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    private HomePageResponseDTO load() {
+        List<PostCardResponseDTO> cards = postRepository.findActivePage(PageRequest.of(0, HOME_PAGE_SIZE));
+
+        return new HomePageResponseDTO(
+                slice(cards, 0, HERO_SIZE, postMapper::postCardToFirstFivePostsListDTO),
+                slice(cards, HERO_SIZE, HERO_SIZE + TOP_SIZE, postMapper::postCardToMainPagePostsListDTO),
+                slice(cards, HERO_SIZE + TOP_SIZE, HOME_PAGE_SIZE, postMapper::postCardToMainPagePostsListDTO)
+        );
+    }
+
+    private static <T> List<T> slice(List<PostCardResponseDTO> cards, int from, int to,
+                                     Function<PostCardResponseDTO, T> mapper) {
+        if (from >= cards.size()) {
+            return List.of();
+        }
+        return cards.subList(from, Math.min(to, cards.size())).stream().map(mapper).toList();
+    }
+
+    private static final class Snapshot {
+        private final long generation;
+        private final HomePageResponseDTO homePage;
+
+        private Snapshot(long generation, HomePageResponseDTO homePage) {
+            this.generation = generation;
+            this.homePage = homePage;
+        }
+    }
+}
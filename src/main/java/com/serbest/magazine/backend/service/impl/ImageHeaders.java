@@ -0,0 +1,43 @@
+package com.serbest.magazine.backend.service.impl;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+// Image sizes read from the header only. A small file can claim a huge size and ImageIO.read allocates
+// the whole raster for it, so the size is checked against the pixel limit before anything is decoded.
+final class ImageHeaders {
+
+    private ImageHeaders() {
+    }
+
+    // Null when the stream is not an image ImageIO can read.
+    static Dimension readDimensions(InputStream inputStream) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(inputStream)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static boolean exceedsPixelLimit(Dimension size, long maxPixels) {
+        return (long) size.width * size.height > maxPixels;
+    }
+}
@@ -1,29 +1,52 @@
 package com.serbest.magazine.backend.service.impl;
 
+import com.serbest.magazine.backend.exception.ResourceNotFoundException;
+import com.serbest.magazine.backend.service.BlobStore;
+import com.serbest.magazine.backend.service.ImageBytesCache;
 import com.serbest.magazine.backend.service.ImageModelService;
-import jakarta.servlet.ServletContext;
+import com.serbest.magazine.backend.service.ImageOptimizer;
+import com.serbest.magazine.backend.service.StoredBlob;
+import com.serbest.magazine.backend.util.CheckedImageInputStream;
+import com.serbest.magazine.backend.util.UploadImage;
 import org.apache.tomcat.util.http.fileupload.FileUtils;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
+import java.io.SequenceInputStream;
 import java.nio.file.*;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 
 @Service
 public class ImageModelServiceImpl implements ImageModelService {
-    private final Path rootProd = Paths.get("./uploads");
-    private final Path rootDev = Paths.get("./uploads-dev");
-    private final Path rootTest = Paths.get("./uploads-test");
 
-    @Value("${spring.profiles.active:}")
-    private String activeProfile;
+    // Stored images are named <sha-256>.<extension>, the extension only decides the content type.
+    private static final Pattern BLOB_NAME = Pattern.compile("([0-9a-f]{64})(\\.[A-Za-z0-9]+)?");
+
+    private final BlobStore blobStore;
+    private final ImageBytesCache imageBytesCache;
+    private final ImageOptimizer imageOptimizer;
+    private final long maxImageBytes;
+    private final Path root;
+
+    public ImageModelServiceImpl(BlobStore blobStore, ImageBytesCache imageBytesCache, ImageOptimizer imageOptimizer,
+                                 @Value("${spring.servlet.multipart.max-file-size:1MB}") DataSize maxImageSize,
+                                 @Value("${spring.profiles.active:}") String activeProfile) {
+        this.blobStore = blobStore;
+        this.imageBytesCache = imageBytesCache;
+        this.imageOptimizer = imageOptimizer;
+        this.maxImageBytes = maxImageSize.toBytes();
+        this.root = UploadImage.getUploadRoot(activeProfile).toAbsolutePath().normalize();
+    }
 
     @Override
     public void init() {
@@ -38,41 +61,138 @@ public class ImageModelServiceImpl implements ImageModelService {
     }
 
     @Override
-    public Resource load(String filename) {
-        Path root = null;
-        if (this.activeProfile.equals("dev")) {
-            root = this.rootDev;
-        } else if (this.activeProfile.equals("test")) {
-            root = this.rootTest;
-        } else {
-            root = this.rootProd;
+    public StoredBlob getBlob(String filename) {
+        try {
+            Matcher matcher = BLOB_NAME.matcher(filename);
+            if (!matcher.matches()) {
+                return getLegacyFile(filename)
+                        .orElseThrow(() -> new ResourceNotFoundException("Image", "filename", filename));
+            }
+            // Blobs never change, so their bytes can be cached by hash.
+            String hash = matcher.group(1);
+            StoredBlob cached = imageBytesCache.get(hash);
+            if (cached != null) {
+                return cached;
+            }
+            StoredBlob blob = blobStore.get(hash)
+                    .orElseThrow(() -> new ResourceNotFoundException("Image", "filename", filename));
+            return imageBytesCache.offer(hash, blob);
+        } catch (IOException e) {
+            throw new RuntimeException("Error: " + e.getMessage());
         }
+    }
 
-        try {
-            Path file = root.resolve(filename);
-            Resource resource = new UrlResource(file.toUri());
+    @Override
+    public Path getVariantDirectory() {
+        return root.resolve("variants");
+    }
 
-            if (resource.exists() || resource.isReadable()) {
-                return resource;
+    @Override
+    public String upload(InputStream inputStream, String filename) throws IOException {
+        // The type and size are checked in the same pass that hashes and stores the bytes.
+        CheckedImageInputStream checked = new CheckedImageInputStream(inputStream, maxImageBytes);
+        String hash;
+        try (checked) {
+            byte[] head = checked.readNBytes(16);
+            if (checked.getFormat() == CheckedImageInputStream.Format.JPEG) {
+                // Re-encoding needs the whole image in memory anyway.
+                byte[] original = checked.readAllBytes();
+                byte[] jpeg = new byte[head.length + original.length];
+                System.arraycopy(head, 0, jpeg, 0, head.length);
+                System.arraycopy(original, 0, jpeg, head.length, original.length);
+                hash = blobStore.put(new ByteArrayInputStream(imageOptimizer.optimizeJpeg(jpeg)));
             } else {
-                throw new RuntimeException("Could not read the file!");
+                hash = blobStore.put(new SequenceInputStream(new ByteArrayInputStream(head), checked));
             }
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("Error: " + e.getMessage());
         }
+        return hash + checked.getFormat().extensionFor(extensionOf(filename));
     }
 
+    // For images that were accepted before, like the rows of the old image table: the bytes are stored
+    // unchanged, without the upload size limit and also when the signature is not a known image format.
     @Override
-    public void upload(InputStream inputStream, String filename) throws IOException {
-        Path root = null;
-        if (this.activeProfile.equals("dev")) {
-            root = this.rootDev;
-        } else if (this.activeProfile.equals("test")) {
-            root = this.rootTest;
-        } else {
-            root = this.rootProd;
+    public String storeAsIs(InputStream inputStream, String filename) throws IOException {
+        byte[] head = inputStream.readNBytes(16);
+        String hash = blobStore.put(new SequenceInputStream(new ByteArrayInputStream(head), inputStream));
+        CheckedImageInputStream.Format format = CheckedImageInputStream.Format.of(head);
+        return hash + (format == null ? extensionOf(filename) : format.extensionFor(extensionOf(filename)));
+    }
+
+    // Lower case with the dot, empty when there is none a stored name can carry.
+    private static String extensionOf(String filename) {
+        int extension = filename.lastIndexOf('.');
+        String requested = extension < 0 ? "" : filename.substring(extension).toLowerCase(Locale.ROOT);
+        return requested.matches("\\.[a-z0-9]+") ? requested : "";
+    }
+
+    // Post and author images refer to a blob by its hash, whatever the extension.
+    @Override
+    public String storageKey(String filename) {
+        Matcher matcher = BLOB_NAME.matcher(filename);
+        return matcher.matches() ? matcher.group(1) : filename;
+    }
+
+    @Override
+    public Stream<String> storedImages() throws IOException {
+        Stream<String> legacy = Files.isDirectory(root)
+                ? Files.list(root)
+                    .filter(Files::isRegularFile)
+                    .map(file -> file.getFileName().toString())
+                    .filter(name -> !name.startsWith("."))
+                : Stream.empty();
+        return Stream.concat(blobStore.hashes(), legacy);
+    }
+
+    // Returns the number of bytes freed, or -1 when the image is missing or was stored after the cutoff.
+    @Override
+    public long deleteIfOlderThan(String storageKey, long cutoffMillis) throws IOException {
+        boolean isBlob = BLOB_NAME.matcher(storageKey).matches();
+        Optional<StoredBlob> blob = isBlob ? blobStore.get(storageKey) : getLegacyFile(storageKey);
+        if (blob.isEmpty() || blob.get().getLastModified() > cutoffMillis) {
+            return -1;
         }
+        boolean deleted = isBlob ? blobStore.delete(storageKey) : Files.deleteIfExists(blob.get().getFile());
+        if (!deleted) {
+            return -1;
+        }
+        imageBytesCache.invalidate(storageKey);
+        deleteVariants(storageKey);
+        return blob.get().getLength();
+    }
 
-        Files.copy(inputStream, root.resolve(filename));
+    private void deleteVariants(String storageKey) throws IOException {
+        Path variants = getVariantDirectory();
+        if (!Files.isDirectory(variants)) {
+            return;
+        }
+        try (DirectoryStream<Path> widths = Files.newDirectoryStream(variants)) {
+            for (Path width : widths) {
+                Path shard = width.resolve(storageKey.substring(0, Math.min(2, storageKey.length())));
+                if (!Files.isDirectory(shard)) {
+                    continue;
+                }
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(shard, file -> {
+                    String name = file.getFileName().toString();
+                    return name.equals(storageKey) || name.startsWith(storageKey + ".");
+                })) {
+                    for (Path file : files) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+    }
+
+    // Images uploaded before the blob store are kept flat under the upload root.
+    private Optional<StoredBlob> getLegacyFile(String filename) throws IOException {
+        Path file = root.resolve(filename).normalize();
+        if (!root.equals(file.getParent())) {
+            throw new IllegalArgumentException("Please provide a valid file.");
+        }
+        try {
+            return Optional.of(StoredBlob.of(file));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
     }
 }
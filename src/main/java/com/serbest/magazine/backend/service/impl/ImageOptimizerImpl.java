@@ -0,0 +1,248 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.service.ImageOptimizer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Re-encodes uploaded JPEGs without their metadata (EXIF, embedded thumbnails) at a fixed quality,
+// turned upright first as the EXIF orientation says. The original is kept when that is not smaller.
+// Decoding is memory and CPU heavy, so it runs on a small pool and uploads fall back to the original when it is busy,
+// when the header claims more pixels than the limit, or when it takes longer than the timeout.
+@Service
+public class ImageOptimizerImpl implements ImageOptimizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageOptimizerImpl.class);
+
+    private final boolean enabled;
+    private final float quality;
+    private final long maxPixels;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong optimized = new AtomicLong();
+    private final AtomicLong kept = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong tooLarge = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private long loggedOptimized;
+
+    public ImageOptimizerImpl(@Value("${magazine.app.imageOptimization:true}") boolean enabled,
+                              @Value("${magazine.app.imageJpegQuality:0.82}") float quality,
+                              @Value("${magazine.app.imageOptimizationThreads:2}") int threads,
+                              @Value("${magazine.app.imageOptimizationQueueSize:16}") int queueSize,
+                              @Value("${magazine.app.imageMaxPixels:40000000}") long maxPixels,
+                              // The upload request thread blocks for up to this long before it stores the original.
+                              @Value("${magazine.app.imageOptimizationTimeoutMs:2000}") long timeoutMillis) {
+        this.enabled = enabled;
+        this.quality = quality;
+        this.maxPixels = maxPixels;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-optimizer-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public byte[] optimizeJpeg(byte[] jpeg) {
+        if (!enabled) {
+            return jpeg;
+        }
+        Dimension size = ImageHeaders.readDimensions(new ByteArrayInputStream(jpeg));
+        if (size != null && ImageHeaders.exceedsPixelLimit(size, maxPixels)) {
+            tooLarge.incrementAndGet();
+            logger.warn("Not optimizing a {}x{} image, it is over the limit of {} pixels", size.width, size.height, maxPixels);
+            return jpeg;
+        }
+        Future<byte[]> future;
+        try {
+            future = executor.submit(() -> reencode(jpeg));
+        } catch (RejectedExecutionException e) {
+            skipped.incrementAndGet();
+            return jpeg;
+        }
+        try {
+            byte[] result = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (result.length < jpeg.length) {
+                optimized.incrementAndGet();
+                bytesSaved.addAndGet(jpeg.length - result.length);
+                logger.info("Optimized uploaded image from {} to {} bytes, saved {}",
+                        jpeg.length, result.length, jpeg.length - result.length);
+                return result;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warn("Could not optimize uploaded image: {}", e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            // ImageIO does not check for interrupts, the worker still finishes but its result is dropped.
+            future.cancel(true);
+            logger.warn("Gave up optimizing uploaded image after {} ms", timeoutMillis);
+        }
+        kept.incrementAndGet();
+        return jpeg;
+    }
+
+    private byte[] reencode(byte[] jpeg) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg));
+        if (image == null) {
+            throw new IOException("Not a readable JPEG.");
+        }
+        image = orient(image, readOrientation(jpeg));
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(jpeg.length);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(outputStream)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(output);
+            // No metadata is passed, so only the pixels are written.
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static BufferedImage orient(BufferedImage image, int orientation) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, width);
+            default -> null;
+        };
+        if (transform == null) {
+            return image;
+        }
+        boolean swapsSides = orientation >= 5;
+        BufferedImage oriented = new BufferedImage(swapsSides ? height : width, swapsSides ? width : height,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = oriented.createGraphics();
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return oriented;
+    }
+
+    // The orientation tag (0x0112) of the EXIF block in APP1, 1 when there is none.
+    static int readOrientation(byte[] jpeg) {
+        int position = 2;
+        while (position + 4 <= jpeg.length && (jpeg[position] & 0xFF) == 0xFF) {
+            int marker = jpeg[position + 1] & 0xFF;
+            if (marker == 0xDA || marker == 0xD9) {
+                break;
+            }
+            int length = readShort(jpeg, position + 2, true);
+            if (marker == 0xE1 && length >= 16 && position + 2 + length <= jpeg.length
+                    && jpeg[position + 4] == 'E' && jpeg[position + 5] == 'x'
+                    && jpeg[position + 6] == 'i' && jpeg[position + 7] == 'f') {
+                return readTiffOrientation(jpeg, position + 10, position + 2 + length);
+            }
+            position += 2 + length;
+        }
+        return 1;
+    }
+
+    private static int readTiffOrientation(byte[] bytes, int start, int end) {
+        boolean bigEndian = bytes[start] == 'M';
+        long ifd = start + readInt(bytes, start + 4, bigEndian);
+        if (ifd < start || ifd + 2 > end) {
+            return 1;
+        }
+        int entries = readShort(bytes, (int) ifd, bigEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                break;
+            }
+            if (readShort(bytes, entry, bigEndian) == 0x0112) {
+                int orientation = readShort(bytes, entry + 8, bigEndian);
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] bytes, int position, boolean bigEndian) {
+        int first = bytes[position] & 0xFF;
+        int second = bytes[position + 1] & 0xFF;
+        return bigEndian ? first << 8 | second : second << 8 | first;
+    }
+
+    private static long readInt(byte[] bytes, int position, boolean bigEndian) {
+        long high = readShort(bytes, position, bigEndian);
+        long low = readShort(bytes, position + 2, bigEndian);
+        return bigEndian ? high << 16 | low : low << 16 | high;
+    }
+
+    public long getOptimizedCount() {
+        return optimized.get();
+    }
+
+    public long getKeptCount() {
+        return kept.get();
+    }
+
+    public long getSkippedCount() {
+        return skipped.get();
+    }
+
+    public long getTooLargeCount() {
+        return tooLarge.get();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    @Scheduled(fixedDelayString = "${magazine.app.imageOptimizationStatsLogMs:300000}")
+    public void logStats() {
+        long count = optimized.get();
+        if (count == loggedOptimized) {
+            return;
+        }
+        loggedOptimized = count;
+        logger.info("Image optimization: {} optimized, {} kept, {} skipped while busy, {} too large, {} bytes saved",
+                count, kept.get(), skipped.get(), tooLarge.get(), bytesSaved.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
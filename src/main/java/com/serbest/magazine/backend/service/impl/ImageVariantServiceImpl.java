@@ -0,0 +1,259 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.service.ImageModelService;
+import com.serbest.magazine.backend.service.ImageVariantService;
+import com.serbest.magazine.backend.service.StoredBlob;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+@Service
+public class ImageVariantServiceImpl implements ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantServiceImpl.class);
+    private static final int PLACEHOLDER_SIZE = 4;
+
+    private final ImageModelService imageModelService;
+    private final int[] widths;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<Path, CompletableFuture<Path>> inProgress = new ConcurrentHashMap<>();
+
+    public ImageVariantServiceImpl(ImageModelService imageModelService,
+                                   @Value("${magazine.app.imageVariantWidths:160,480,1200}") int[] widths,
+                                   @Value("${magazine.app.imageVariantQueueSize:100}") int queueSize,
+                                   @Value("${magazine.app.imageMaxPixels:40000000}") long maxPixels) {
+        this.imageModelService = imageModelService;
+        this.widths = Arrays.stream(widths).filter(width -> width > 0).sorted().distinct().toArray();
+        this.maxPixels = maxPixels;
+        // Variants dropped because the queue is full are generated on their first request instead.
+        this.executor = new ThreadPoolExecutor(
+                1, 1,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @Override
+    public Dimension imageUploaded(String filename) {
+        Dimension size = readDimensions(imageModelService.getBlob(filename));
+        if (size != null) {
+            executor.execute(() -> {
+                for (int width : widths) {
+                    if (width >= size.width) {
+                        break;
+                    }
+                    try {
+                        getVariant(filename, width);
+                    } catch (RuntimeException e) {
+                        logger.warn("Could not create the {} px variant of {}: {}", width, filename, e.getMessage());
+                    }
+                }
+            });
+        }
+        return size;
+    }
+
+    @Override
+    public StoredBlob getVariant(String filename, int width) {
+        StoredBlob original = imageModelService.getBlob(filename);
+        int variantWidth = variantWidth(width);
+        Path variant = imageModelService.getVariantDirectory()
+                .resolve(Integer.toString(variantWidth))
+                .resolve(filename.substring(0, Math.min(2, filename.length())))
+                .resolve(filename);
+        try {
+            if (Files.exists(variant)) {
+                return StoredBlob.of(variant);
+            }
+
+            CompletableFuture<Path> future = new CompletableFuture<>();
+            CompletableFuture<Path> running = inProgress.putIfAbsent(variant, future);
+            if (running != null) {
+                return StoredBlob.of(running.join());
+            }
+            try {
+                if (!Files.exists(variant)) {
+                    writeVariant(original, filename, variant, variantWidth);
+                }
+                future.complete(variant);
+                return StoredBlob.of(variant);
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                inProgress.remove(variant);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error: " + e.getMessage());
+        }
+    }
+
+    // Nothing is decoded on the caller's thread. Cards show no placeholder until it is written to their row.
+    @Override
+    public void queuePlaceholder(String filename, Consumer<String> placeholderReady) {
+        executor.execute(() -> {
+            try {
+                String placeholder = createPlaceholder(filename);
+                if (placeholder != null) {
+                    placeholderReady.accept(placeholder);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not create the placeholder of {}: {}", filename, e.getMessage());
+            }
+        });
+    }
+
+    // A 4 px preview as a data URI, small enough to send with every card. Browsers blur it when it is scaled up.
+    // It is scaled down from the smallest variant, which the variant thread has usually written already.
+    public String createPlaceholder(String filename) {
+        StoredBlob blob = imageModelService.getBlob(filename);
+        Dimension size = decodableSize(blob);
+        if (size == null) {
+            return null;
+        }
+        BufferedImage image;
+        try (InputStream inputStream = (size.width > widths[0] ? getVariant(filename, widths[0]) : blob).openStream()) {
+            image = ImageIO.read(inputStream);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+        if (image == null) {
+            return null;
+        }
+        int width = image.getWidth() >= image.getHeight()
+                ? PLACEHOLDER_SIZE
+                : Math.max(1, Math.round((float) PLACEHOLDER_SIZE * image.getWidth() / image.getHeight()));
+        BufferedImage preview = scale(image, Math.min(width, image.getWidth()), "jpg");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(preview, "png", outputStream);
+        } catch (IOException e) {
+            return null;
+        }
+        return "data:image/png;base64," + Base64.getEncoder().encodeToString(outputStream.toByteArray());
+    }
+
+    // The smallest configured width that still covers the requested one.
+    @Override
+    public int variantWidth(int width) {
+        for (int variantWidth : widths) {
+            if (variantWidth >= width) {
+                return variantWidth;
+            }
+        }
+        return widths[widths.length - 1];
+    }
+
+    private void writeVariant(StoredBlob original, String filename, Path variant, int width) throws IOException {
+        Files.createDirectories(variant.getParent());
+        Path temp = Files.createTempFile(variant.getParent(), "variant", ".tmp");
+        try {
+            String format = formatName(filename);
+            BufferedImage image = null;
+            if (format != null && decodableSize(original) != null) {
+                try (InputStream inputStream = original.openStream()) {
+                    image = ImageIO.read(inputStream);
+                }
+            }
+            // Images that are already small enough, or that we cannot or will not decode, are cached as they are.
+            if (image == null || image.getWidth() <= width
+                    || !ImageIO.write(scale(image, width, format), format, temp.toFile())) {
+                try (InputStream inputStream = original.openStream()) {
+                    Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(temp, variant, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, String format) {
+        int height = Math.max(1, (int) Math.round((double) image.getHeight() * width / image.getWidth()));
+        boolean alpha = format.equals("png");
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        // Halve step by step so bilinear filtering keeps the detail on large reductions.
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                if (!alpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, currentWidth, currentHeight);
+                }
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private static String formatName(String filename) {
+        String name = filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".jpg") || name.endsWith(".jpeg")) {
+            return "jpg";
+        } else if (name.endsWith(".png")) {
+            return "png";
+        } else if (name.endsWith(".bmp")) {
+            return "bmp";
+        }
+        return null;
+    }
+
+    // Reads only the header, the pixels are not decoded.
+    private static Dimension readDimensions(StoredBlob blob) {
+        try (InputStream inputStream = blob.openStream()) {
+            return ImageHeaders.readDimensions(inputStream);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Null when the image cannot be read or is over the pixel limit.
+    private Dimension decodableSize(StoredBlob blob) {
+        Dimension size = readDimensions(blob);
+        if (size != null && ImageHeaders.exceedsPixelLimit(size, maxPixels)) {
+            logger.warn("Not decoding a {}x{} image, it is over the limit of {} pixels", size.width, size.height, maxPixels);
+            return null;
+        }
+        return size;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,230 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.dto.like.LikeRefDTO;
+import com.serbest.magazine.backend.repository.LikeRepository;
+import com.serbest.magazine.backend.service.LikeIndex;
+import com.serbest.magazine.backend.util.CompactBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Likes held in memory: every author gets a dense ordinal, and every post and comment a bitmap of the
+// ordinals that like it. Loaded with one streaming scan of the likes table and kept current by the like
+// toggles of this instance. The nightly rebuild drops what cascaded deletes and other instances changed.
+@Service
+public class InMemoryLikeIndex implements LikeIndex {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryLikeIndex.class);
+
+    private final LikeRepository likeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<UUID, Integer> authorOrdinals = new ConcurrentHashMap<>();
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+    private final Map<UUID, CompactBitmap> postLikes = new ConcurrentHashMap<>();
+    private final Map<UUID, CompactBitmap> commentLikes = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public InMemoryLikeIndex(LikeRepository likeRepository, PlatformTransactionManager transactionManager) {
+        this.likeRepository = likeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public int countPostLikes(UUID postId) {
+        return count(postLikes, postId);
+    }
+
+    @Override
+    public int countCommentLikes(UUID commentId) {
+        return count(commentLikes, commentId);
+    }
+
+    @Override
+    public boolean hasLikedPost(UUID authorId, UUID postId) {
+        return !likedAmong(postLikes, authorId, Set.of(postId)).isEmpty();
+    }
+
+    @Override
+    public boolean hasLikedComment(UUID authorId, UUID commentId) {
+        return !likedAmong(commentLikes, authorId, Set.of(commentId)).isEmpty();
+    }
+
+    @Override
+    public Set<UUID> likedPostsAmong(UUID authorId, Collection<UUID> postIds) {
+        return likedAmong(postLikes, authorId, postIds);
+    }
+
+    @Override
+    public Set<UUID> likedCommentsAmong(UUID authorId, Collection<UUID> commentIds) {
+        return likedAmong(commentLikes, authorId, commentIds);
+    }
+
+    // Changes before the first load are left out, the load reads them from the table.
+    @Override
+    public void postLikeChanged(UUID authorId, UUID postId, boolean liked) {
+        change(postLikes, authorId, postId, liked);
+    }
+
+    @Override
+    public void commentLikeChanged(UUID authorId, UUID commentId, boolean liked) {
+        change(commentLikes, authorId, commentId, liked);
+    }
+
+    @Override
+    public void commentsDeleted(Collection<UUID> commentIds) {
+        lock.readLock().lock();
+        try {
+            commentIds.forEach(commentLikes::remove);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        ensureLoaded();
+    }
+
+    // Reads wait for the scan, so it runs at night.
+    @Override
+    @Scheduled(cron = "${magazine.app.likeIndexRebuildCron:0 45 4 * * *}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            ensureLoaded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int count(Map<UUID, CompactBitmap> likes, UUID id) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            CompactBitmap bitmap = likes.get(id);
+            if (bitmap == null) {
+                return 0;
+            }
+            synchronized (bitmap) {
+                return bitmap.cardinality();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<UUID> likedAmong(Map<UUID, CompactBitmap> likes, UUID authorId, Collection<UUID> ids) {
+        ensureLoaded();
+        Set<UUID> liked = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            Integer ordinal = authorId == null ? null : authorOrdinals.get(authorId);
+            if (ordinal == null) {
+                return liked;
+            }
+            for (UUID id : ids) {
+                CompactBitmap bitmap = likes.get(id);
+                if (bitmap == null) {
+                    continue;
+                }
+                synchronized (bitmap) {
+                    if (bitmap.contains(ordinal)) {
+                        liked.add(id);
+                    }
+                }
+            }
+            return liked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void change(Map<UUID, CompactBitmap> likes, UUID authorId, UUID id, boolean liked) {
+        lock.readLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            if (liked) {
+                add(likes, ordinalOf(authorId), id);
+                return;
+            }
+            Integer ordinal = authorOrdinals.get(authorId);
+            CompactBitmap bitmap = likes.get(id);
+            if (ordinal != null && bitmap != null) {
+                synchronized (bitmap) {
+                    bitmap.remove(ordinal);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int ordinalOf(UUID authorId) {
+        // Handed out in order, so the ordinals stay dense and the bitmaps small.
+        return authorOrdinals.computeIfAbsent(authorId, id -> nextOrdinal.getAndIncrement());
+    }
+
+    private static void add(Map<UUID, CompactBitmap> likes, int ordinal, UUID id) {
+        CompactBitmap bitmap = likes.computeIfAbsent(id, key -> new CompactBitmap());
+        synchronized (bitmap) {
+            bitmap.add(ordinal);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            long started = System.currentTimeMillis();
+            authorOrdinals.clear();
+            nextOrdinal.set(0);
+            postLikes.clear();
+            commentLikes.clear();
+            long likes = readOnlyTransaction.execute(status -> {
+                long rows = 0;
+                try (Stream<LikeRefDTO> refs = likeRepository.streamAll()) {
+                    for (LikeRefDTO ref : (Iterable<LikeRefDTO>) refs::iterator) {
+                        if (ref.getPostId() != null) {
+                            add(postLikes, ordinalOf(ref.getAuthorId()), ref.getPostId());
+                        } else if (ref.getCommentId() != null) {
+                            add(commentLikes, ordinalOf(ref.getAuthorId()), ref.getCommentId());
+                        }
+                        rows++;
+                    }
+                }
+                return rows;
+            });
+            loaded = true;
+            logger.info("Loaded like index: {} likes by {} authors on {} posts and {} comments in {} ms",
+                    likes, authorOrdinals.size(), postLikes.size(), commentLikes.size(),
+                    System.currentTimeMillis() - started);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -3,45 +3,52 @@ package com.serbest.magazine.backend.service.impl;
 import com.google.common.base.Strings;
 import com.serbest.magazine.backend.dto.like.LikeRequestDTO;
 import com.serbest.magazine.backend.dto.like.LikeResponseDTO;
-import com.serbest.magazine.backend.entity.Author;
-import com.serbest.magazine.backend.entity.Comment;
-import com.serbest.magazine.backend.entity.Like;
-import com.serbest.magazine.backend.entity.Post;
 import com.serbest.magazine.backend.exception.CustomApplicationException;
 import com.serbest.magazine.backend.exception.ResourceNotFoundException;
 import com.serbest.magazine.backend.repository.AuthorRepository;
 import com.serbest.magazine.backend.repository.LikeRepository;
-import com.serbest.magazine.backend.repository.PostRepository;
-import com.serbest.magazine.backend.service.CommentService;
+import com.serbest.magazine.backend.security.services.UserDetailsImpl;
+import com.serbest.magazine.backend.service.LikeIndex;
 import com.serbest.magazine.backend.service.LikeService;
-import com.serbest.magazine.backend.service.PostService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.nio.file.AccessDeniedException;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 
 @Service
 public class LikeServiceImpl implements LikeService {
 
-    private final PostRepository postRepository;
-    private final CommentService commentService;
+    private static final int TOGGLE_LOCK_STRIPES = 64;
+
     private final LikeRepository likeRepository;
     private final AuthorRepository authorRepository;
+    private final LikeIndex likeIndex;
+    private final ReentrantLock[] toggleLocks = new ReentrantLock[TOGGLE_LOCK_STRIPES];
 
-    public LikeServiceImpl(PostRepository postRepository, CommentService commentService, LikeRepository likeRepository, AuthorRepository authorRepository) {
-        this.postRepository = postRepository;
-        this.commentService = commentService;
+    public LikeServiceImpl(LikeRepository likeRepository, AuthorRepository authorRepository, LikeIndex likeIndex) {
         this.likeRepository = likeRepository;
         this.authorRepository = authorRepository;
+        this.likeIndex = likeIndex;
+        for (int i = 0; i < toggleLocks.length; i++) {
+            toggleLocks[i] = new ReentrantLock();
+        }
     }
 
     /// Added CHECK of COALESCE((post)::int::boolean::int) + COALESCE((comment)::int::boolean::int) = 1;
+    // Toggles by id: a delete, and when nothing was deleted a conditional insert. The unique keys on
+    // (post, author) and (comment, author) keep concurrent clicks from adding a like twice. Each toggle holds the
+    // lock of its (author, target) pair across the statement and the index update, so the index sees the
+    // toggles of one pair in the order the database applied them.
     @Override
     public LikeResponseDTO like(LikeRequestDTO requestDTO) throws AccessDeniedException {
         if (Strings.isNullOrEmpty(requestDTO.getPostId()) && Strings.isNullOrEmpty(requestDTO.getCommentId())) {
@@ -55,45 +62,98 @@ public class LikeServiceImpl implements LikeService {
                     "You can not like both post and comment at the same time!");
         }
 
-        SecurityContext context = SecurityContextHolder.getContext();
-        String usernameOrEmail = context.getAuthentication().getName();
+        UUID authorId = currentAuthorId();
 
-        if (Strings.isNullOrEmpty(usernameOrEmail)) {
-            throw new AccessDeniedException("You are not allowed to do that!");
+        if (!Strings.isNullOrEmpty(requestDTO.getPostId())) {
+            UUID postId = UUID.fromString(requestDTO.getPostId());
+            ReentrantLock lock = toggleLock(authorId, postId);
+            lock.lock();
+            try {
+                return togglePostLike(authorId, postId);
+            } finally {
+                lock.unlock();
+            }
         }
 
-        Author user = authorRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail).orElseThrow(
-                () -> new ResourceNotFoundException("Author", "username or email", usernameOrEmail)
-        );
-
-        Like like = null;
-
-        if (!Strings.isNullOrEmpty(requestDTO.getPostId())) {
+        UUID commentId = UUID.fromString(requestDTO.getCommentId());
+        ReentrantLock lock = toggleLock(authorId, commentId);
+        lock.lock();
+        try {
+            return toggleCommentLike(authorId, commentId);
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            Post post = postRepository.findById(UUID.fromString(requestDTO.getPostId())).orElseThrow(
-                    () -> new ResourceNotFoundException("Post", "id", requestDTO.getPostId())
-            );
+    private LikeResponseDTO togglePostLike(UUID authorId, UUID postId) {
+        if (likeRepository.deleteByPostAndAuthor(postId, authorId) > 0) {
+            likeIndex.postLikeChanged(authorId, postId, false);
+            return new LikeResponseDTO(null, false, (long) likeIndex.countPostLikes(postId));
+        }
+        UUID likeId = UUID.randomUUID();
+        try {
+            if (likeRepository.insertPostLike(likeId, postId, authorId) == 0) {
+                throw new ResourceNotFoundException("Post", "id", postId.toString());
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another instance liked it first.
+            likeId = null;
+        }
+        likeIndex.postLikeChanged(authorId, postId, true);
+        return new LikeResponseDTO(likeId, true, (long) likeIndex.countPostLikes(postId));
+    }
 
-            like = likeRepository.findByAuthorAndPost(user, post);
-            if (like != null) {
-                likeRepository.deleteByPostAndAuthor(post.getPostId(), user.getId());
-            } else {
-                like = likeRepository.save(new Like(post, null, user));
+    private LikeResponseDTO toggleCommentLike(UUID authorId, UUID commentId) {
+        if (likeRepository.deleteByCommentAndAuthor(commentId, authorId) > 0) {
+            likeIndex.commentLikeChanged(authorId, commentId, false);
+            return new LikeResponseDTO(null, false, (long) likeIndex.countCommentLikes(commentId));
+        }
+        UUID likeId = UUID.randomUUID();
+        try {
+            if (likeRepository.insertCommentLike(likeId, commentId, authorId) == 0) {
+                throw new ResourceNotFoundException("Comment", "id", commentId.toString());
             }
+        } catch (DataIntegrityViolationException e) {
+            likeId = null;
+        }
+        likeIndex.commentLikeChanged(authorId, commentId, true);
+        return new LikeResponseDTO(likeId, true, (long) likeIndex.countCommentLikes(commentId));
+    }
 
-        } else if (!Strings.isNullOrEmpty(requestDTO.getCommentId())) {
+    private ReentrantLock toggleLock(UUID authorId, UUID targetId) {
+        int hash = authorId.hashCode() * 31 + targetId.hashCode();
+        return toggleLocks[(hash ^ hash >>> 16) & (TOGGLE_LOCK_STRIPES - 1)];
+    }
 
-            Comment comment = commentService.findById(requestDTO.getCommentId());
+    // Stateless access tokens carry the author id, so only the other sessions look it up.
+    private UUID currentAuthorId() throws AccessDeniedException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String usernameOrEmail = authentication.getName();
 
-            like = likeRepository.findByAuthorAndComment(user, comment);
-            if (like != null) {
-                likeRepository.deleteByCommentAndAuthor(comment.getId(), user.getId());
-            } else {
-                like = likeRepository.save(new Like(null, comment, user));
-            }
+        if (Strings.isNullOrEmpty(usernameOrEmail)) {
+            throw new AccessDeniedException("You are not allowed to do that!");
+        }
+        if (authentication.getPrincipal() instanceof UserDetailsImpl userDetails && userDetails.getId() != null) {
+            return userDetails.getId();
         }
+        return authorRepository.findIdByUsernameOrEmail(usernameOrEmail).orElseThrow(
+                () -> new ResourceNotFoundException("Author", "username or email", usernameOrEmail)
+        );
+    }
 
-        return new LikeResponseDTO(like.getId());
+    // Answered from the like index; nothing is liked for anonymous readers.
+    @Override
+    public List<String> likedPosts(List<String> postIds) throws AccessDeniedException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken || postIds.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = postIds.stream().map(UUID::fromString).collect(Collectors.toList());
+        Set<UUID> liked = likeIndex.likedPostsAmong(currentAuthorId(), ids);
+        return ids.stream()
+                .filter(liked::contains)
+                .map(UUID::toString)
+                .collect(Collectors.toList());
     }
 
     @Override
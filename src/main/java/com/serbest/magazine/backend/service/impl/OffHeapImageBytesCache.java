@@ -0,0 +1,236 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.service.ImageBytesCache;
+import com.serbest.magazine.backend.service.StoredBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps the bytes of frequently requested images in direct buffers, outside the heap.
+// An image is admitted only once it has been asked for a few times, and only if it is requested
+// more often than the least recently used images it would push out.
+@Service
+public class OffHeapImageBytesCache implements ImageBytesCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapImageBytesCache.class);
+
+    private final long capacityBytes;
+    private final long maxEntryBytes;
+    private final int admitAfter;
+    private final LinkedHashMap<String, StoredBlob> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final FrequencySketch frequencies;
+    private long usedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private long loggedRequests;
+
+    public OffHeapImageBytesCache(@Value("${magazine.app.imageCacheBytes:67108864}") long capacityBytes,
+                                  @Value("${magazine.app.imageCacheMaxEntryBytes:2097152}") long maxEntryBytes,
+                                  @Value("${magazine.app.imageCacheAdmitAfter:2}") int admitAfter) {
+        this.capacityBytes = capacityBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, capacityBytes);
+        this.admitAfter = admitAfter;
+        this.frequencies = new FrequencySketch((int) Math.min(1 << 20, Math.max(1024, capacityBytes / 32768)));
+    }
+
+    @Override
+    public synchronized StoredBlob get(String key) {
+        if (capacityBytes <= 0) {
+            return null;
+        }
+        frequencies.increment(key);
+        StoredBlob blob = entries.get(key);
+        if (blob == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return blob;
+    }
+
+    // Returns the cached copy when the blob is admitted, otherwise the blob itself.
+    @Override
+    public StoredBlob offer(String key, StoredBlob blob) {
+        if (blob.getLength() > maxEntryBytes || !admits(key, blob.getLength())) {
+            rejections.incrementAndGet();
+            return blob;
+        }
+
+        ByteBuffer content;
+        try {
+            content = copyOffHeap(blob);
+        } catch (IOException e) {
+            logger.warn("Could not cache {}: {}", key, e.getMessage());
+            return blob;
+        }
+        StoredBlob cached = new StoredBlob(blob.getFile(), blob.getOffset(), blob.getLength(),
+                blob.getLastModified(), content.asReadOnlyBuffer());
+
+        synchronized (this) {
+            StoredBlob existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            List<String> victims = victims(key, blob.getLength());
+            if (victims == null) {
+                rejections.incrementAndGet();
+                return blob;
+            }
+            for (String victim : victims) {
+                usedBytes -= entries.remove(victim).getLength();
+                evictions.incrementAndGet();
+            }
+            entries.put(key, cached);
+            usedBytes += blob.getLength();
+            return cached;
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(String key) {
+        StoredBlob removed = entries.remove(key);
+        if (removed != null) {
+            usedBytes -= removed.getLength();
+        }
+    }
+
+    private synchronized boolean admits(String key, long length) {
+        return frequencies.frequency(key) >= admitAfter && victims(key, length) != null;
+    }
+
+    // The least recently used entries that have to go to make room, or null when one of them
+    // is requested more often than the new image.
+    private List<String> victims(String key, long length) {
+        List<String> victims = new ArrayList<>();
+        long free = capacityBytes - usedBytes;
+        int frequency = frequencies.frequency(key);
+        Iterator<Map.Entry<String, StoredBlob>> iterator = entries.entrySet().iterator();
+        while (free < length && iterator.hasNext()) {
+            Map.Entry<String, StoredBlob> entry = iterator.next();
+            if (frequencies.frequency(entry.getKey()) > frequency) {
+                return null;
+            }
+            victims.add(entry.getKey());
+            free += entry.getValue().getLength();
+        }
+        return free >= length ? victims : null;
+    }
+
+    // Evicted buffers are released by the garbage collector once no response is still writing them.
+    private static ByteBuffer copyOffHeap(StoredBlob blob) throws IOException {
+        ByteBuffer content = ByteBuffer.allocateDirect((int) blob.getLength());
+        ByteBuffer source = blob.getContent();
+        if (source != null) {
+            content.put(source);
+        } else {
+            try (InputStream inputStream = blob.openStream();
+                 ReadableByteChannel channel = Channels.newChannel(inputStream)) {
+                while (content.hasRemaining() && channel.read(content) >= 0) {
+                    // keep reading
+                }
+            }
+        }
+        if (content.hasRemaining()) {
+            throw new IOException("Image is shorter than " + blob.getLength() + " bytes.");
+        }
+        return content.flip();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getRejectionCount() {
+        return rejections.get();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    @Scheduled(fixedDelayString = "${magazine.app.imageCacheStatsLogMs:300000}")
+    public void logStats() {
+        long requests = hits.get() + misses.get();
+        if (requests == loggedRequests) {
+            return;
+        }
+        loggedRequests = requests;
+        logger.info("Image cache: {} hits, {} misses, {} evictions, {} rejected, {} entries, {} of {} bytes",
+                hits.get(), misses.get(), evictions.get(), rejections.get(), getEntryCount(), getUsedBytes(), capacityBytes);
+    }
+
+    // Approximate request counts in a fixed amount of memory. The counts are halved periodically
+    // so images that used to be popular do not stay ahead forever.
+    private static final class FrequencySketch {
+
+        private static final int[] SEEDS = {0x97CB3127, 0x2F0B3E15, 0x68E31DA4, 0xB5297A4D};
+        private static final int MAX_COUNT = 15;
+
+        private final int[] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int expectedEntries) {
+            int size = Integer.highestOneBit(expectedEntries * 4 - 1) << 1;
+            this.counters = new int[size];
+            this.mask = size - 1;
+            this.sampleSize = expectedEntries * 10;
+        }
+
+        void increment(String key) {
+            int hash = key.hashCode();
+            for (int seed : SEEDS) {
+                int index = index(hash, seed);
+                if (counters[index] < MAX_COUNT) {
+                    counters[index]++;
+                }
+            }
+            if (++additions >= sampleSize) {
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] >>>= 1;
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(String key) {
+            int hash = key.hashCode();
+            int frequency = MAX_COUNT;
+            for (int seed : SEEDS) {
+                frequency = Math.min(frequency, counters[index(hash, seed)]);
+            }
+            return frequency;
+        }
+
+        private int index(int hash, int seed) {
+            int mixed = (hash ^ seed) * 0x9E3779B9;
+            return (mixed ^ (mixed >>> 16)) & mask;
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.service.BlobStore;
+import com.serbest.magazine.backend.service.StoredBlob;
+import com.serbest.magazine.backend.util.UploadImage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Appends blobs to a few large segment files instead of keeping one file per image.
+// Record layout: int magic | 32 byte sha-256 | long length, -1 for a deletion | long stored at | content.
+// Where each live blob sits is kept in memory and rebuilt by scanning the segments on startup.
+@Service
+@ConditionalOnProperty(name = "magazine.app.imageStore", havingValue = "pack")
+public class PackFileBlobStore implements BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(PackFileBlobStore.class);
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{6})\\.pack");
+    private static final int MAGIC = 0x4D474231;
+    private static final int HEADER_SIZE = 4 + 32 + 8 + 8;
+    private static final long DELETED = -1;
+    // The active segment file is grown by at least this much, doubling each time, so its mapping is rarely redone.
+    private static final long MIN_MAPPING_SIZE = 1 << 20;
+
+    private final Path root;
+    private final long maxSegmentSize;
+    private final double compactionGarbageRatio;
+    private final ConcurrentHashMap<String, Entry> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    // Appends, deletions and compaction are serialized, reads only need the index.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong mappings = new AtomicLong();
+    private Segment active;
+
+    @Autowired
+    public PackFileBlobStore(@Value("${spring.profiles.active:}") String activeProfile,
+                             @Value("${magazine.app.packSegmentSize:268435456}") long maxSegmentSize,
+                             @Value("${magazine.app.packCompactionGarbageRatio:0.3}") double compactionGarbageRatio) throws IOException {
+        this(UploadImage.getUploadRoot(activeProfile).resolve("packs"), maxSegmentSize, compactionGarbageRatio);
+    }
+
+    PackFileBlobStore(Path root, long maxSegmentSize, double compactionGarbageRatio) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        // A segment is mapped as a whole, so it has to fit in an int offset.
+        this.maxSegmentSize = Math.min(maxSegmentSize, Integer.MAX_VALUE);
+        this.compactionGarbageRatio = compactionGarbageRatio;
+        Files.createDirectories(this.root);
+        load();
+    }
+
+    @Override
+    public String put(InputStream inputStream) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] content;
+        try (InputStream digestStream = new DigestInputStream(inputStream, digest)) {
+            content = digestStream.readAllBytes();
+        }
+        if (content.length > maxSegmentSize - HEADER_SIZE) {
+            throw new IOException("Blob of " + content.length + " bytes does not fit in a pack segment.");
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+
+        lock.lock();
+        try {
+            long storedAt = System.currentTimeMillis();
+            Entry existing = index.get(hash);
+            if (existing != null) {
+                // Stored again, so an orphan being uploaded anew gets a fresh grace period before the cleanup.
+                // Only kept in memory; after a restart the record's time applies again.
+                index.put(hash, new Entry(existing.segmentId, existing.offset, existing.length, storedAt));
+            } else {
+                long offset = append(hash, content.length, ByteBuffer.wrap(content), storedAt);
+                active.liveBytes += HEADER_SIZE + content.length;
+                index.put(hash, new Entry(active.id, offset, content.length, storedAt));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return hash;
+    }
+
+    @Override
+    public Optional<StoredBlob> get(String hash) throws IOException {
+        Entry entry = index.get(hash);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        Segment segment = segments.get(entry.segmentId);
+        if (segment == null) {
+            return Optional.empty();
+        }
+        long dataOffset = entry.offset + HEADER_SIZE;
+        return Optional.of(new StoredBlob(segment.path, dataOffset, entry.length, entry.storedAt,
+                segment.slice(dataOffset, entry.length)));
+    }
+
+    @Override
+    public boolean delete(String hash) throws IOException {
+        if (!HASH.matcher(hash).matches()) {
+            return false;
+        }
+        lock.lock();
+        try {
+            Entry entry = index.get(hash);
+            if (entry == null) {
+                return false;
+            }
+            append(hash, DELETED, null, System.currentTimeMillis());
+            index.remove(hash);
+            segments.get(entry.segmentId).liveBytes -= entry.recordSize();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Stream<String> hashes() {
+        return new ArrayList<>(index.keySet()).stream();
+    }
+
+    @Scheduled(cron = "${magazine.app.packCompactionCron:0 30 4 * * *}")
+    public void compactOnSchedule() {
+        try {
+            long reclaimed = compact();
+            if (reclaimed > 0) {
+                logger.info("Pack compaction reclaimed {} bytes, {} blobs in {} segments",
+                        reclaimed, index.size(), segments.size());
+            }
+        } catch (IOException e) {
+            logger.error("Pack compaction failed: {}", e.getMessage());
+        }
+    }
+
+    // Rewrites the live blobs of the oldest sealed segments into the active one.
+    // Always taking a prefix of the log means every deletion in it only hides records that are dropped with it,
+    // so deletion records never have to be carried forward. Returns the number of bytes that will be freed.
+    public long compact() throws IOException {
+        lock.lock();
+        try {
+            deleteRetiredSegments();
+
+            List<Segment> sealed = new ArrayList<>();
+            int last = -1;
+            for (Segment segment : segments.values()) {
+                if (segment == active) {
+                    break;
+                }
+                sealed.add(segment);
+                if (segment.garbageRatio() >= compactionGarbageRatio) {
+                    last = sealed.size() - 1;
+                }
+            }
+            if (last < 0) {
+                return 0;
+            }
+            List<Segment> prefix = sealed.subList(0, last + 1);
+            Set<Integer> prefixIds = new HashSet<>();
+            long reclaimed = 0;
+            for (Segment segment : prefix) {
+                prefixIds.add(segment.id);
+                reclaimed += segment.size - segment.liveBytes;
+            }
+
+            List<Map.Entry<String, Entry>> live = new ArrayList<>();
+            for (Map.Entry<String, Entry> entry : index.entrySet()) {
+                if (prefixIds.contains(entry.getValue().segmentId)) {
+                    live.add(entry);
+                }
+            }
+            live.sort(Comparator.comparingInt((Map.Entry<String, Entry> entry) -> entry.getValue().segmentId)
+                    .thenComparingLong(entry -> entry.getValue().offset));
+
+            for (Map.Entry<String, Entry> entry : live) {
+                Entry old = entry.getValue();
+                ByteBuffer content = segments.get(old.segmentId).slice(old.offset + HEADER_SIZE, old.length);
+                long offset = append(entry.getKey(), old.length, content, old.storedAt);
+                active.liveBytes += old.recordSize();
+                index.put(entry.getKey(), new Entry(active.id, offset, old.length, old.storedAt));
+            }
+
+            // Readers may still hold slices of these, so the files are only removed on the next pass.
+            for (Segment segment : prefix) {
+                segment.retired = true;
+                segment.liveBytes = 0;
+            }
+            return reclaimed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getBlobCount() {
+        return index.size();
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public long getMappingCount() {
+        return mappings.get();
+    }
+
+    private long append(String hash, long length, ByteBuffer content, long storedAt) throws IOException {
+        long recordSize = HEADER_SIZE + Math.max(length, 0);
+        if (active.size > 0 && active.size + recordSize > maxSegmentSize) {
+            seal(active);
+            active = openSegment(active.id + 1);
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .put(HexFormat.of().parseHex(hash))
+                .putLong(length)
+                .putLong(storedAt)
+                .flip();
+        long offset = active.size;
+        allocate(active, offset + recordSize);
+        writeFully(active.channel, header, offset);
+        if (content != null) {
+            writeFully(active.channel, content, offset + HEADER_SIZE);
+        }
+        active.size += recordSize;
+        return offset;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void load() throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    openSegment(Integer.parseInt(matcher.group(1)));
+                }
+            }
+        }
+        for (Segment segment : segments.values()) {
+            scan(segment);
+        }
+        active = segments.isEmpty() ? openSegment(1) : segments.lastEntry().getValue();
+        logger.info("Loaded {} blobs from {} pack segments", index.size(), segments.size());
+    }
+
+    private void scan(Segment segment) throws IOException {
+        long fileSize = segment.channel.size();
+        if (fileSize == 0) {
+            return;
+        }
+        MappedByteBuffer buffer = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        mappings.incrementAndGet();
+        byte[] hashBytes = new byte[32];
+        long position = 0;
+        while (position + HEADER_SIZE <= fileSize) {
+            int at = (int) position;
+            if (buffer.getInt(at) != MAGIC) {
+                break;
+            }
+            buffer.get(at + 4, hashBytes);
+            long length = buffer.getLong(at + 36);
+            long storedAt = buffer.getLong(at + 44);
+            String hash = HexFormat.of().formatHex(hashBytes);
+
+            if (length == DELETED) {
+                Entry removed = index.remove(hash);
+                if (removed != null) {
+                    segments.get(removed.segmentId).liveBytes -= removed.recordSize();
+                }
+                position += HEADER_SIZE;
+            } else {
+                if (length < 0 || position + HEADER_SIZE + length > fileSize) {
+                    break;
+                }
+                // A later copy wins, the earlier one was left behind by an interrupted compaction.
+                Entry previous = index.put(hash, new Entry(segment.id, position, length, storedAt));
+                if (previous != null) {
+                    segments.get(previous.segmentId).liveBytes -= previous.recordSize();
+                }
+                segment.liveBytes += HEADER_SIZE + length;
+                position += HEADER_SIZE + length;
+            }
+        }
+        if (position < fileSize) {
+            // Zeros are room the active segment was grown by for its mapping, anything else is a write that did not finish.
+            if (position + 4 > fileSize || buffer.getInt((int) position) != 0) {
+                logger.warn("Truncating {} bytes at the end of {}", fileSize - position, segment.path);
+            }
+            segment.channel.truncate(position);
+        } else {
+            segment.mapping = buffer;
+        }
+        segment.size = position;
+        segment.allocated = position;
+    }
+
+    private Segment openSegment(int id) throws IOException {
+        Path path = root.resolve(String.format("segment-%06d.pack", id));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(id, path, channel, mappings);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    // Grows the file ahead of the appends; the zeros are written over and cut off again when the segment is sealed.
+    private void allocate(Segment segment, long end) throws IOException {
+        if (segment.allocated >= end) {
+            return;
+        }
+        long allocated = Math.min(maxSegmentSize, Math.max(MIN_MAPPING_SIZE, segment.allocated * 2));
+        allocated = Math.max(allocated, end);
+        writeFully(segment.channel, ByteBuffer.allocate(1), allocated - 1);
+        segment.allocated = allocated;
+    }
+
+    // Drops the room a full segment was grown by. Its mapping may reach past the new end, but no entry points there.
+    private static void seal(Segment segment) throws IOException {
+        segment.channel.truncate(segment.size);
+        segment.allocated = segment.size;
+    }
+
+    private void deleteRetiredSegments() throws IOException {
+        Iterator<Segment> iterator = segments.values().iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment.retired) {
+                iterator.remove();
+                segment.channel.close();
+                Files.deleteIfExists(segment.path);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (active != null && active.channel.isOpen()) {
+                seal(active);
+            }
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(int segmentId, long offset, long length, long storedAt) {
+
+        long recordSize() {
+            return HEADER_SIZE + length;
+        }
+    }
+
+    private static final class Segment {
+
+        final int id;
+        final Path path;
+        final FileChannel channel;
+        final AtomicLong mappings;
+        // Written under the store lock.
+        long size;
+        long liveBytes;
+        boolean retired;
+        // How far the file has been grown, at least size.
+        volatile long allocated;
+        volatile MappedByteBuffer mapping;
+
+        Segment(int id, Path path, FileChannel channel, AtomicLong mappings) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.mappings = mappings;
+        }
+
+        double garbageRatio() {
+            return size == 0 ? 0 : (double) (size - liveBytes) / size;
+        }
+
+        // The active segment grows, so it is mapped again, as far as the file has been grown, when a read goes past
+        // the current mapping. The file grows in doubling steps, so a filling segment is only mapped a few times.
+        ByteBuffer slice(long offset, long length) throws IOException {
+            MappedByteBuffer current = mapping;
+            if (current == null || current.capacity() < offset + length) {
+                synchronized (this) {
+                    current = mapping;
+                    if (current == null || current.capacity() < offset + length) {
+                        current = channel.map(FileChannel.MapMode.READ_ONLY, 0, allocated);
+                        mappings.incrementAndGet();
+                        mapping = current;
+                    }
+                }
+            }
+            return current.slice((int) offset, (int) length).asReadOnlyBuffer();
+        }
+    }
+}
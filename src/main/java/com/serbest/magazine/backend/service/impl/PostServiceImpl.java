@@ -2,6 +2,7 @@ package com.serbest.magazine.backend.service.impl;
 
 import com.google.common.base.Strings;
 
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.dto.post.*;
 import com.serbest.magazine.backend.entity.Author;
 import com.serbest.magazine.backend.entity.Category;
@@ -10,11 +11,16 @@ import com.serbest.magazine.backend.exception.CustomApplicationException;
 import com.serbest.magazine.backend.exception.ResourceNotFoundException;
 import com.serbest.magazine.backend.mapper.PostMapper;
 import com.serbest.magazine.backend.repository.AuthorRepository;
-import com.serbest.magazine.backend.repository.CategoryRepository;
 import com.serbest.magazine.backend.repository.PostRepository;
+import com.serbest.magazine.backend.service.CategoryPostCountService;
+import com.serbest.magazine.backend.service.CategoryRegistry;
+import com.serbest.magazine.backend.service.HomePageService;
 import com.serbest.magazine.backend.service.ImageModelService;
+import com.serbest.magazine.backend.service.ImageVariantService;
 import com.serbest.magazine.backend.service.PostService;
+import com.serbest.magazine.backend.service.RandomPostService;
 import com.serbest.magazine.backend.security.CheckAuthorization;
+import com.serbest.magazine.backend.util.PageCursor;
 import com.serbest.magazine.backend.util.UploadImage;
 
 import io.jsonwebtoken.lang.Assert;
@@ -25,30 +31,42 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 
+import java.awt.Dimension;
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class PostServiceImpl implements PostService {
     private final CheckAuthorization checkAuthorization;
-    private final CategoryRepository categoryRepository;
+    private final CategoryRegistry categoryRegistry;
     private final PostRepository postRepository;
     private final PostMapper postMapper;
     private final AuthorRepository userRepository;
     private final ImageModelService imageModelService;
-
-    public PostServiceImpl(CheckAuthorization checkAuthorization, CategoryRepository categoryRepository,
-                           PostRepository postRepository, PostMapper postMapper, AuthorRepository userRepository, ImageModelService imageModelService) {
+    private final HomePageService homePageService;
+    private final RandomPostService randomPostService;
+    private final CategoryPostCountService categoryPostCountService;
+    private final ImageVariantService imageVariantService;
+
+    public PostServiceImpl(CheckAuthorization checkAuthorization, CategoryRegistry categoryRegistry,
+                           PostRepository postRepository, PostMapper postMapper, AuthorRepository userRepository, ImageModelService imageModelService,
+                           HomePageService homePageService, RandomPostService randomPostService,
+                           CategoryPostCountService categoryPostCountService, ImageVariantService imageVariantService) {
         this.checkAuthorization = checkAuthorization;
-        this.categoryRepository = categoryRepository;
+        this.categoryRegistry = categoryRegistry;
         this.postRepository = postRepository;
         this.postMapper = postMapper;
         this.userRepository = userRepository;
         this.imageModelService = imageModelService;
+        this.homePageService = homePageService;
+        this.randomPostService = randomPostService;
+        this.categoryPostCountService = categoryPostCountService;
+        this.imageVariantService = imageVariantService;
     }
 
     @Override
@@ -64,7 +82,7 @@ public class PostServiceImpl implements PostService {
                 () -> new ResourceNotFoundException("Author", "emailOrUsername", usernameOrEmail)
         );
 
-        Category category = categoryRepository.findByName(requestDTO.getCategory()).orElseThrow(
+        Category category = categoryRegistry.getReferenceByName(requestDTO.getCategory()).orElseThrow(
                 () -> new ResourceNotFoundException("Category", "name", requestDTO.getCategory())
         );
 
@@ -72,13 +90,13 @@ public class PostServiceImpl implements PostService {
         MultipartFile file = requestDTO.getImage();
         String filename = UploadImage.changeNameWithTimeStamp(file.getOriginalFilename());
         try {
-            imageModelService.upload(file.getInputStream(), filename);
+            filename = imageModelService.upload(file.getInputStream(), filename);
             post = postMapper.postRequestDTOToPost(requestDTO);
             post.setAuthor(user);
             post.setCategory(category);
-            post.setPostImage(filename);
+            setPostImage(post, filename);
 
-            return postMapper.postToPostCreateResponseDTO(postRepository.save(post));
+            return postMapper.postToPostCreateResponseDTO(savePost(post, null));
         } catch (IOException e) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
@@ -95,7 +113,7 @@ public class PostServiceImpl implements PostService {
                 () -> new ResourceNotFoundException("Author", "username", requestDTO.getAuthor())
         );
 
-        Category category = categoryRepository.findByName(requestDTO.getCategory()).orElseThrow(
+        Category category = categoryRegistry.getReferenceByName(requestDTO.getCategory()).orElseThrow(
                 () -> new ResourceNotFoundException("Category", "name", requestDTO.getCategory())
         );
 
@@ -104,56 +122,41 @@ public class PostServiceImpl implements PostService {
         MultipartFile file = requestDTO.getImage();
         String filename = UploadImage.changeNameWithTimeStamp(file.getOriginalFilename());
         try {
-            imageModelService.upload(file.getInputStream(), filename);
+            filename = imageModelService.upload(file.getInputStream(), filename);
             post = postMapper.postCreateEditorRequestDTOToPost(requestDTO);
             post.setAuthor(user);
             post.setCategory(category);
-            post.setPostImage(filename);
+            setPostImage(post, filename);
 
-            return postMapper.postToPostCreateResponseDTO(postRepository.save(post));
+            return postMapper.postToPostCreateResponseDTO(savePost(post, null));
         } catch (IOException e) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
 
     @Override
-    public List<PostResponseDTO> getAllPosts() {
-        List<Post> posts = postRepository.findByActiveTrueOrderByCreateDateTimeDesc();
-
-        return posts
-                .stream()
-                .map(postMapper::postToPostResponseDTO)
-                .collect(Collectors.toList());
+    public List<PostCardResponseDTO> getAllPosts() {
+        return postRepository.findActiveCards();
     }
 
     @Override
     public List<FirstFivePostsListDTO> getFirstFivePosts() {
-        List<Post> posts = postRepository.findFirstFiveActiveTrueByCreateDateTime();
-
-        return posts
-                .stream()
-                .map(postMapper::postToFirstFivePostsListDTO)
-                .collect(Collectors.toList());
+        return homePageService.getHomePage().getHero();
     }
 
     @Override
     public List<MainPagePostsListDTO> getFourPostsForTop() {
-        List<Post> posts = postRepository.findFourPostsActiveTrueByCreateDateTime();
-
-        return posts
-                .stream()
-                .map(postMapper::postToMainPagePostsListDTO)
-                .collect(Collectors.toList());
+        return homePageService.getHomePage().getTop();
     }
 
     @Override
     public List<MainPagePostsListDTO> getPostsForMainPage() {
-        List<Post> posts = postRepository.findFifteenActiveTrueByCreateDateTimeOffset5();
+        return homePageService.getHomePage().getMain();
+    }
 
-        return posts
-                .stream()
-                .map(postMapper::postToMainPagePostsListDTO)
-                .collect(Collectors.toList());
+    @Override
+    public HomePageResponseDTO getHomePage() {
+        return homePageService.getHomePage();
     }
 
     @Override
@@ -175,10 +178,11 @@ public class PostServiceImpl implements PostService {
     @Override
     public PostResponseDTO deactivatePost(String id) throws AccessDeniedException {
         Post post = getPost(id);
+        UUID countedCategoryId = countedCategoryId(post);
         post.setActive(false);
 
         try {
-            return postMapper.postToPostResponseDTO(postRepository.save(post));
+            return postMapper.postToPostResponseDTO(savePost(post, countedCategoryId));
         } catch (Exception e) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
@@ -189,10 +193,11 @@ public class PostServiceImpl implements PostService {
         Post post = postRepository.findById(UUID.fromString(id)).orElseThrow(
                 () -> new ResourceNotFoundException("Post", "id", id)
         );
+        UUID countedCategoryId = countedCategoryId(post);
         post.setActive(true);
 
         try {
-            return postMapper.postToPostResponseDTO(postRepository.save(post));
+            return postMapper.postToPostResponseDTO(savePost(post, countedCategoryId));
         } catch (Exception e) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
@@ -205,7 +210,7 @@ public class PostServiceImpl implements PostService {
         validateAndSanitizeFieldName("Category", requestDTO.getCategory());
         Post post = getPost(id);
 
-        Category category = categoryRepository.findByName(requestDTO.getCategory()).orElseThrow(
+        Category category = categoryRegistry.getReferenceByName(requestDTO.getCategory()).orElseThrow(
                 () -> new ResourceNotFoundException("Category", "name", requestDTO.getCategory())
         );
 
@@ -213,16 +218,17 @@ public class PostServiceImpl implements PostService {
         if (!requestDTO.getImageProtect()) {
             filename = UploadImage.changeNameWithTimeStamp(requestDTO.getImage().getOriginalFilename());
         }
+        UUID countedCategoryId = countedCategoryId(post);
         post.setCategory(category);
         post.setTitle(requestDTO.getTitle());
         post.setSubtitle(requestDTO.getSubtitle());
         post.setContent(requestDTO.getContent());
         try {
             if (!requestDTO.getImageProtect()) {
-                post.setPostImage(filename);
-                imageModelService.upload(requestDTO.getImage().getInputStream(), filename);
+                filename = imageModelService.upload(requestDTO.getImage().getInputStream(), filename);
+                setPostImage(post, filename);
             }
-            return postMapper.postToPostResponseDTO(postRepository.save(post));
+            return postMapper.postToPostResponseDTO(savePost(post, countedCategoryId));
         } catch (Exception e) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
@@ -238,7 +244,7 @@ public class PostServiceImpl implements PostService {
                 () -> new ResourceNotFoundException("Post", "id", id)
         );
 
-        Category category = categoryRepository.findByName(requestDTO.getCategory()).orElseThrow(
+        Category category = categoryRegistry.getReferenceByName(requestDTO.getCategory()).orElseThrow(
                 () -> new ResourceNotFoundException("Category", "name", requestDTO.getCategory())
         );
 
@@ -246,61 +252,134 @@ public class PostServiceImpl implements PostService {
         if (!requestDTO.getImageProtect()) {
             filename = UploadImage.changeNameWithTimeStamp(requestDTO.getImage().getOriginalFilename());
         }
+        UUID countedCategoryId = countedCategoryId(post);
         post.setCategory(category);
         post.setTitle(requestDTO.getTitle());
         post.setSubtitle(requestDTO.getSubtitle());
         post.setContent(requestDTO.getContent());
         try {
             if (!requestDTO.getImageProtect()) {
-                post.setPostImage(filename);
-                imageModelService.upload(requestDTO.getImage().getInputStream(), filename);
+                filename = imageModelService.upload(requestDTO.getImage().getInputStream(), filename);
+                setPostImage(post, filename);
             }
-            return postMapper.postToPostResponseDTO(postRepository.save(post));
+            return postMapper.postToPostResponseDTO(savePost(post, countedCategoryId));
         } catch (Exception e) {
             throw new CustomApplicationException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
 
     @Override
-    public List<PostResponseDTO> getRandomThreePost() {
-        List<Post> posts = postRepository.findThreeActiveTrueByRandom();
-        return posts
-                .stream()
-                .map(postMapper::postToPostResponseDTO)
-                .collect(Collectors.toList());
+    public List<PostCardResponseDTO> getRandomThreePost() {
+        return randomPostService.getRandomPosts(3);
     }
 
     @Override
-    public List<PostResponseDTO> getPostsByCategory(String categoryName) {
-        categoryRepository.findByName(categoryName).orElseThrow(
+    public List<PostCardResponseDTO> getPostsByCategory(String categoryName) {
+        categoryRegistry.findByName(categoryName).orElseThrow(
                 () -> new ResourceNotFoundException("Category", "name", categoryName)
         );
-        List<Post> posts = postRepository.findAllByCategoryNameAndActiveTrueOrderByCreateDateTimeDesc(categoryName);
-        return posts
-                .stream()
-                .map(postMapper::postToPostResponseDTO)
-                .collect(Collectors.toList());
+        return postRepository.findActiveCardsByCategory(categoryName);
     }
 
     @Override
-    public List<PostResponseDTO> findByUsername(String username) {
+    public List<PostCardResponseDTO> findByUsername(String username) {
         userRepository.findByUsername(username).orElseThrow(
                 () -> new ResourceNotFoundException("Author", "username", username)
         );
-        List<Post> posts = postRepository.findAllByAuthorUsernameAndActiveTrueOrderByCreateDateTimeDesc(username);
-
-        return posts
-                .stream()
-                .map(postMapper::postToPostResponseDTO)
-                .collect(Collectors.toList());
+        return postRepository.findActiveCardsByAuthor(username);
     }
 
     @Override
     public Integer countsByCategoryName(String categoryName) {
-        categoryRepository.findByName(categoryName).orElseThrow(
+        Category category = categoryRegistry.findByName(categoryName).orElseThrow(
                 () -> new ResourceNotFoundException("Category", "name", categoryName)
         );
-        return postRepository.countByCategoryNameAndActiveTrue(categoryName);
+        return categoryPostCountService.getPostCount(category.getId());
+    }
+
+    @Override
+    public PageResponseDTO<PostCardResponseDTO> getPostsPage(String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        List<PostCardResponseDTO> posts = pageCursor == null
+                ? postRepository.findActivePage(PageCursor.pageable(pageSize))
+                : postRepository.findActivePageAfter(pageCursor.getCreateDateTime(), pageCursor.getId(),
+                PageCursor.pageable(pageSize));
+
+        return toPostPage(posts, pageSize);
+    }
+
+    @Override
+    public PageResponseDTO<PostCardResponseDTO> getPostsByCategoryPage(String categoryName, String cursor, Integer size) {
+        categoryRegistry.findByName(categoryName).orElseThrow(
+                () -> new ResourceNotFoundException("Category", "name", categoryName)
+        );
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        List<PostCardResponseDTO> posts = pageCursor == null
+                ? postRepository.findActivePageByCategory(categoryName, PageCursor.pageable(pageSize))
+                : postRepository.findActivePageByCategoryAfter(categoryName, pageCursor.getCreateDateTime(),
+                pageCursor.getId(), PageCursor.pageable(pageSize));
+
+        return toPostPage(posts, pageSize);
+    }
+
+    @Override
+    public PageResponseDTO<PostCardResponseDTO> findByUsernamePage(String username, String cursor, Integer size) {
+        userRepository.findByUsername(username).orElseThrow(
+                () -> new ResourceNotFoundException("Author", "username", username)
+        );
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        List<PostCardResponseDTO> posts = pageCursor == null
+                ? postRepository.findActivePageByAuthor(username, PageCursor.pageable(pageSize))
+                : postRepository.findActivePageByAuthorAfter(username, pageCursor.getCreateDateTime(),
+                pageCursor.getId(), PageCursor.pageable(pageSize));
+
+        return toPostPage(posts, pageSize);
+    }
+
+    private PageResponseDTO<PostCardResponseDTO> toPostPage(List<PostCardResponseDTO> posts, int pageSize) {
+        return PageCursor.toPage(posts, pageSize,
+                post -> new PageCursor(post.getCreateDateTime(), post.getId()),
+                Function.identity());
+    }
+
+    private void setPostImage(Post post, String filename) {
+        Dimension size = imageVariantService.imageUploaded(filename);
+        post.setPostImage(filename);
+        post.setImageWidth(size == null ? null : size.width);
+        post.setImageHeight(size == null ? null : size.height);
+        post.setImagePlaceholder(null);
+    }
+
+    private Post savePost(Post post, UUID countedCategoryIdBefore) {
+        Post savedPost = postRepository.save(post);
+        // Made in the background once the row exists, for a new image as well as for older posts without one.
+        if (savedPost.getPostImage() != null && savedPost.getImagePlaceholder() == null) {
+            UUID postId = savedPost.getPostId();
+            String postImage = savedPost.getPostImage();
+            imageVariantService.queuePlaceholder(postImage,
+                    placeholder -> postRepository.setImagePlaceholder(postId, postImage, placeholder));
+        }
+        homePageService.invalidate();
+        categoryPostCountService.postMoved(countedCategoryIdBefore, countedCategoryId(savedPost));
+        if (Boolean.TRUE.equals(savedPost.getActive())) {
+            randomPostService.postActivated(savedPost.getPostId());
+        } else {
+            randomPostService.postDeactivated(savedPost.getPostId());
+        }
+        return savedPost;
+    }
+
+    private UUID countedCategoryId(Post post) {
+        if (!Boolean.TRUE.equals(post.getActive()) || post.getCategory() == null) {
+            return null;
+        }
+        return post.getCategory().getId();
     }
 
     private Post getPost(String id) throws AccessDeniedException {
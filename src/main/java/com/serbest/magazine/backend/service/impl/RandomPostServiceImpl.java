@@ -0,0 +1,201 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.dto.post.PostCardResponseDTO;
+import com.serbest.magazine.backend.repository.PostRepository;
+import com.serbest.magazine.backend.service.RandomPostService;
+
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class RandomPostServiceImpl implements RandomPostService {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final PostRepository postRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Active post ids split into their two halves, so the pool is two flat long arrays instead of UUID objects.
+    private long[] mostSignificantBits = new long[0];
+    private long[] leastSignificantBits = new long[0];
+    private int size;
+    // Open-addressing table of array position + 1 (0 is a free slot), hashed by the id, so membership
+    // checks and removals do not scan the pool. Kept at most half full, 4 bytes per slot.
+    private int[] slots = new int[0];
+    private boolean loaded;
+
+    public RandomPostServiceImpl(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    public List<PostCardResponseDTO> getRandomPosts(int count) {
+        List<UUID> postIds = sample(count);
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        return postRepository.findActiveCardsByPostIdIn(postIds);
+    }
+
+    @Override
+    public void postActivated(UUID postId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded || slots[slotOf(postId.getMostSignificantBits(), postId.getLeastSignificantBits())] != 0) {
+                return;
+            }
+            append(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void postDeactivated(UUID postId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            int slot = slotOf(postId.getMostSignificantBits(), postId.getLeastSignificantBits());
+            if (slots[slot] == 0) {
+                return;
+            }
+            int index = slots[slot] - 1;
+            clearSlot(slot);
+            size--;
+            if (index < size) {
+                // The last id fills the gap, so the arrays stay dense.
+                slots[slotOf(mostSignificantBits[size], leastSignificantBits[size])] = index + 1;
+                mostSignificantBits[index] = mostSignificantBits[size];
+                leastSignificantBits[index] = leastSignificantBits[size];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<UUID> sample(int count) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int k = Math.min(count, size);
+            List<UUID> postIds = new ArrayList<>(k);
+            if (k <= 0) {
+                return postIds;
+            }
+
+            // Floyd's algorithm: k distinct positions with exactly k draws.
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Set<Integer> picked = new HashSet<>(k * 2);
+            for (int j = size - k; j < size; j++) {
+                int position = random.nextInt(j + 1);
+                if (!picked.add(position)) {
+                    picked.add(j);
+                    position = j;
+                }
+                postIds.add(new UUID(mostSignificantBits[position], leastSignificantBits[position]));
+            }
+            return postIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<UUID> postIds = postRepository.findActivePostIds();
+            mostSignificantBits = new long[Math.max(INITIAL_CAPACITY, postIds.size())];
+            leastSignificantBits = new long[mostSignificantBits.length];
+            slots = new int[tableSize(mostSignificantBits.length)];
+            size = 0;
+            postIds.forEach(this::append);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(UUID postId) {
+        if (size == mostSignificantBits.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            mostSignificantBits = Arrays.copyOf(mostSignificantBits, capacity);
+            leastSignificantBits = Arrays.copyOf(leastSignificantBits, capacity);
+            slots = new int[tableSize(capacity)];
+            for (int index = 0; index < size; index++) {
+                slots[slotOf(mostSignificantBits[index], leastSignificantBits[index])] = index + 1;
+            }
+        }
+        mostSignificantBits[size] = postId.getMostSignificantBits();
+        leastSignificantBits[size] = postId.getLeastSignificantBits();
+        slots[slotOf(mostSignificantBits[size], leastSignificantBits[size])] = size + 1;
+        size++;
+    }
+
+    // A power of two more than twice the capacity.
+    private static int tableSize(int capacity) {
+        return Integer.highestOneBit(capacity * 4 - 1);
+    }
+
+    private int home(long most, long least) {
+        long hash = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (slots.length - 1);
+    }
+
+    // The slot holding the id, or the free slot where it would go.
+    private int slotOf(long most, long least) {
+        int mask = slots.length - 1;
+        int slot = home(most, least);
+        while (slots[slot] != 0) {
+            int index = slots[slot] - 1;
+            if (mostSignificantBits[index] == most && leastSignificantBits[index] == least) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Shifts the following entries back into the gap, so lookups never stop early at it.
+    private void clearSlot(int slot) {
+        int mask = slots.length - 1;
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (slots[next] == 0) {
+                break;
+            }
+            int index = slots[next] - 1;
+            int home = home(mostSignificantBits[index], leastSignificantBits[index]);
+            // Moved only when its home is not between the gap and its slot.
+            boolean between = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+            if (!between) {
+                slots[gap] = slots[next];
+                gap = next;
+            }
+        }
+        slots[gap] = 0;
+    }
+}
@@ -0,0 +1,144 @@
+package com.serbest.magazine.backend.util;
+
+import com.serbest.magazine.backend.exception.CustomApplicationException;
+import org.springframework.http.HttpStatus;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// Checks an upload while it is being stored: the first bytes have to be a known image signature
+// and the whole upload may not go over the size limit. Nothing is buffered besides the signature.
+public class CheckedImageInputStream extends FilterInputStream {
+
+    private static final int SIGNATURE_SIZE = 12;
+
+    private final long maxBytes;
+    private final byte[] signature = new byte[SIGNATURE_SIZE];
+    private long count;
+    private Format format;
+
+    public CheckedImageInputStream(InputStream inputStream, long maxBytes) {
+        super(inputStream);
+        this.maxBytes = maxBytes;
+    }
+
+    // Known once the first bytes have been read.
+    public Format getFormat() {
+        return format;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value < 0) {
+            finished();
+        } else {
+            consumed(new byte[]{(byte) value}, 0, 1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        int read = super.read(bytes, offset, length);
+        if (read < 0) {
+            finished();
+        } else if (read > 0) {
+            consumed(bytes, offset, read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes would not be counted.
+        return 0;
+    }
+
+    private void consumed(byte[] bytes, int offset, int length) {
+        if (count < SIGNATURE_SIZE) {
+            System.arraycopy(bytes, offset, signature, (int) count, (int) Math.min(length, SIGNATURE_SIZE - count));
+        }
+        count += length;
+        if (count > maxBytes) {
+            throw new CustomApplicationException(HttpStatus.BAD_REQUEST,
+                    "Image must not be larger than " + maxBytes + " bytes.");
+        }
+        if (format == null && count >= SIGNATURE_SIZE) {
+            detect();
+        }
+    }
+
+    private void finished() {
+        if (format == null) {
+            detect();
+        }
+    }
+
+    private void detect() {
+        format = Format.of(Arrays.copyOf(signature, (int) Math.min(count, SIGNATURE_SIZE)));
+        if (format == null) {
+            throw new CustomApplicationException(HttpStatus.BAD_REQUEST,
+                    "Only JPEG, PNG, GIF, WEBP and BMP images can be uploaded.");
+        }
+    }
+
+    public enum Format {
+        JPEG(".jpg", ".jpeg"),
+        PNG(".png"),
+        GIF(".gif"),
+        WEBP(".webp"),
+        BMP(".bmp");
+
+        private final String[] extensions;
+
+        Format(String... extensions) {
+            this.extensions = extensions;
+        }
+
+        public String getExtension() {
+            return extensions[0];
+        }
+
+        // The given extension if it belongs to this format, otherwise the usual one.
+        public String extensionFor(String extension) {
+            for (String candidate : extensions) {
+                if (candidate.equals(extension)) {
+                    return candidate;
+                }
+            }
+            return getExtension();
+        }
+
+        // Null when the signature is not one of the formats.
+        public static Format of(byte[] signature) {
+            if (startsWith(signature, 0xFF, 0xD8, 0xFF)) {
+                return JPEG;
+            } else if (startsWith(signature, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+                return PNG;
+            } else if (startsWith(signature, 'G', 'I', 'F', '8')) {
+                return GIF;
+            } else if (startsWith(signature, 'R', 'I', 'F', 'F') && signature.length >= 12
+                    && signature[8] == 'W' && signature[9] == 'E' && signature[10] == 'B' && signature[11] == 'P') {
+                return WEBP;
+            } else if (startsWith(signature, 'B', 'M')) {
+                return BMP;
+            }
+            return null;
+        }
+
+        private static boolean startsWith(byte[] bytes, int... prefix) {
+            if (bytes.length < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if ((bytes[i] & 0xFF) != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
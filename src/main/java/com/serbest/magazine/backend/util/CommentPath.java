@@ -0,0 +1,31 @@
+package com.serbest.magazine.backend.util;
+
+import java.util.UUID;
+
+// Materialized path of a comment thread: the root's id in hex, then one fixed-width base 36 segment per
+// reply level holding the reply's position under its parent. Ordered by path a thread reads depth first,
+// and the descendants of a comment are the range (path, subtreeEnd(path)).
+public class CommentPath {
+
+    public static final int MAX_DEPTH = 32;
+
+    private static final int SEGMENT_LENGTH = 6;
+    // zzzzzz is never handed out, it bounds the subtree range.
+    private static final long MAX_POSITION = 36L * 36 * 36 * 36 * 36 * 36 - 2;
+
+    public static String root(UUID id) {
+        return id.toString().replace("-", "");
+    }
+
+    public static String child(String parentPath, long position) {
+        if (position < 1 || position > MAX_POSITION) {
+            throw new IllegalArgumentException("Reply position out of range: " + position);
+        }
+        String segment = Long.toString(position, 36);
+        return parentPath + "0".repeat(SEGMENT_LENGTH - segment.length()) + segment;
+    }
+
+    public static String subtreeEnd(String path) {
+        return path + "z".repeat(SEGMENT_LENGTH);
+    }
+}
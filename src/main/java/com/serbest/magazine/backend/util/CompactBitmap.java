@@ -0,0 +1,117 @@
+package com.serbest.magazine.backend.util;
+
+import java.util.Arrays;
+
+// A set of non-negative ints kept as a sorted array while it is sparse and as a bitset once that takes
+// less memory. Not thread safe.
+public class CompactBitmap {
+
+    private static final int[] EMPTY = new int[0];
+
+    // Sorted, in use while words is null.
+    private int[] values = EMPTY;
+    private long[] words;
+    private int cardinality;
+
+    public boolean contains(int value) {
+        if (words != null) {
+            int word = value >>> 6;
+            return word < words.length && (words[word] & (1L << value)) != 0;
+        }
+        return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        if (words != null) {
+            int word = value >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, word + 1);
+            }
+            if ((words[word] & (1L << value)) != 0) {
+                return false;
+            }
+            words[word] |= 1L << value;
+            cardinality++;
+            return true;
+        }
+
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, cardinality + (cardinality >> 1)));
+        }
+        System.arraycopy(values, index, values, index + 1, cardinality - index);
+        values[index] = value;
+        cardinality++;
+
+        if ((long) cardinality * Integer.BYTES > bitsetBytes(values[cardinality - 1])) {
+            toBitset();
+        }
+        return true;
+    }
+
+    public boolean remove(int value) {
+        if (words != null) {
+            int word = value >>> 6;
+            if (word >= words.length || (words[word] & (1L << value)) == 0) {
+                return false;
+            }
+            words[word] &= ~(1L << value);
+            cardinality--;
+            // Back to an array only well below the break-even point, so a set at the edge does not flip.
+            if ((long) cardinality * Integer.BYTES * 2 < (long) words.length * Long.BYTES) {
+                toArray();
+            }
+            return true;
+        }
+
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+        cardinality--;
+        return true;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public long sizeInBytes() {
+        return words != null ? (long) words.length * Long.BYTES : (long) values.length * Integer.BYTES;
+    }
+
+    private static long bitsetBytes(int maxValue) {
+        return ((long) (maxValue >>> 6) + 1) * Long.BYTES;
+    }
+
+    private void toBitset() {
+        long[] bits = new long[(values[cardinality - 1] >>> 6) + 1];
+        for (int i = 0; i < cardinality; i++) {
+            bits[values[i] >>> 6] |= 1L << values[i];
+        }
+        words = bits;
+        values = EMPTY;
+    }
+
+    private void toArray() {
+        int[] array = new int[Math.max(4, cardinality)];
+        int size = 0;
+        for (int word = 0; word < words.length; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                array[size++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        values = array;
+        words = null;
+    }
+}
@@ -0,0 +1,91 @@
+package com.serbest.magazine.backend.util;
+
+import com.google.common.base.Strings;
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
+import com.serbest.magazine.backend.exception.CustomApplicationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Opaque seek position of a feed ordered by (createDateTime desc, id desc).
+public class PageCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 50;
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createDateTime;
+    private final UUID id;
+
+    public PageCursor(LocalDateTime createDateTime, UUID id) {
+        this.createDateTime = createDateTime;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreateDateTime() {
+        return createDateTime;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createDateTime.toString() + SEPARATOR + id.toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(LocalDateTime createDateTime, UUID id) {
+        return new PageCursor(createDateTime, id).encode();
+    }
+
+    public static PageCursor decode(String cursor) {
+        if (Strings.isNullOrEmpty(cursor) || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new CustomApplicationException(HttpStatus.BAD_REQUEST, "Provide a valid cursor , please.");
+        }
+    }
+
+    public static int pageSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // One extra row tells whether another page follows without a count query.
+    public static Pageable pageable(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    public static <T, R> PageResponseDTO<R> toPage(List<T> rows, int pageSize,
+                                                   Function<T, PageCursor> cursorOf, Function<T, R> mapper) {
+        String next = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            next = cursorOf.apply(rows.get(pageSize - 1)).encode();
+        }
+        return new PageResponseDTO<>(rows.stream().map(mapper).collect(Collectors.toList()), next);
+    }
+}
@@ -1,7 +1,19 @@
 package com.serbest.magazine.backend.util;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 public class UploadImage {
 
+    public static Path getUploadRoot(String activeProfile) {
+        if ("dev".equals(activeProfile)) {
+            return Paths.get("./uploads-dev");
+        } else if ("test".equals(activeProfile)) {
+            return Paths.get("./uploads-test");
+        }
+        return Paths.get("./uploads");
+    }
+
     public static String changeNameWithTimeStamp(String filename) {
         if (!filename.contains(".")){
             throw new IllegalArgumentException("Please provide a valid file.");
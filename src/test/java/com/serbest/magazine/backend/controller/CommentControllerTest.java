@@ -6,6 +6,7 @@ import com.serbest.magazine.backend.dto.comment.CommentRequestDTO;
 import com.serbest.magazine.backend.dto.comment.CommentResponseDTO;
 import com.serbest.magazine.backend.dto.comment.CommentUpdateRequestDTO;
 import com.serbest.magazine.backend.dto.general.MessageResponseDTO;
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.service.CommentService;
 import io.restassured.module.mockmvc.RestAssuredMockMvc;
 import org.hamcrest.Matchers;
@@ -17,6 +18,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -46,6 +48,8 @@ class CommentControllerTest {
     @BeforeEach
     void setUp() {
         RestAssuredMockMvc.mockMvc(mockMvc);
+        // The service unit tests leave their mocked context on this thread, which would sign in the anonymous requests.
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -142,6 +146,33 @@ class CommentControllerTest {
                 .body("$.size()", Matchers.equalTo(1));
     }
 
+    @Test
+    public void RA_test_getCommentsPage_shouldAllowFetchingWithoutAuthentication() {
+        UUID postId = UUID.randomUUID();
+        CommentResponseDTO responseDTO = CommentResponseDTO.builder()
+                .commentId(UUID.randomUUID())
+                .content("TestContent")
+                .username("ensar")
+                .createDateTime(LocalDateTime.now())
+                .build();
+
+        Mockito.when(commentService.getCommentsPage(postId.toString(), "cursor", 5, null))
+                .thenReturn(new PageResponseDTO<>(List.of(responseDTO), "next"));
+
+        RestAssuredMockMvc
+                .given()
+                .auth().none()
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .param("cursor", "cursor")
+                .param("size", 5)
+                .when()
+                .get("/api/comments/byPost/" + postId + "/page")
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.equalTo(1))
+                .body("next", Matchers.equalTo("next"));
+    }
+
     @Test
     public void RA_test_deleteCommentById_shouldAllowDeleteCommentWithAuthentication() throws AccessDeniedException {
         UUID postId = UUID.randomUUID();
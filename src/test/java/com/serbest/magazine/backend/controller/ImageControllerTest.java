@@ -0,0 +1,211 @@
+package com.serbest.magazine.backend.controller;
+
+import com.serbest.magazine.backend.exception.ResourceNotFoundException;
+import com.serbest.magazine.backend.service.ImageModelService;
+import com.serbest.magazine.backend.service.StoredBlob;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImageControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImageModelService imageModelService;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        RestAssuredMockMvc.mockMvc(mockMvc);
+
+        Path file = Files.write(tempDir.resolve("image123.jpg"), "0123456789".getBytes(StandardCharsets.US_ASCII));
+        Mockito.when(imageModelService.getBlob("image123.jpg")).thenReturn(StoredBlob.of(file));
+        Mockito.when(imageModelService.getBlob("missing123.jpg"))
+                .thenThrow(new ResourceNotFoundException("Image", "filename", "missing123.jpg"));
+        Mockito.when(imageModelService.getVariantDirectory()).thenReturn(tempDir.resolve("variants"));
+        Mockito.when(imageModelService.storageKey(Mockito.anyString()))
+                .thenAnswer(invocation -> ((String) invocation.getArgument(0)).replaceAll("^([0-9a-f]{64})\\..*", "$1"));
+    }
+
+    @Test
+    public void RA_test_getImage_servesInlineWithCacheHeaders() {
+        RestAssuredMockMvc
+                .given()
+                .when()
+                .get("/api/photos/download/image123.jpg")
+                .then()
+                .statusCode(200)
+                .contentType("image/jpeg")
+                .header("Cache-Control", "public, max-age=31536000, immutable")
+                .header("Content-Disposition", Matchers.startsWith("inline"))
+                .header("Accept-Ranges", "bytes")
+                .header("ETag", Matchers.notNullValue())
+                .body(Matchers.equalTo("0123456789"));
+    }
+
+    @Test
+    public void RA_test_getImage_servesVariantForRequestedWidth() throws IOException {
+        Path file = tempDir.resolve("wide123.jpg");
+        ImageIO.write(new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB), "jpg", file.toFile());
+        Mockito.when(imageModelService.getBlob("wide123.jpg")).thenReturn(StoredBlob.of(file));
+
+        byte[] body = RestAssuredMockMvc
+                .given()
+                .queryParam("w", 160)
+                .when()
+                .get("/api/photos/download/wide123.jpg")
+                .then()
+                .statusCode(200)
+                .contentType("image/jpeg")
+                .extract().asByteArray();
+
+        assertEquals(160, ImageIO.read(new ByteArrayInputStream(body)).getWidth());
+    }
+
+    @Test
+    public void RA_test_getImage_redirectsToResolvedVariantWidth() {
+        for (int width : new int[]{100, 150}) {
+            RestAssuredMockMvc
+                    .given()
+                    .queryParam("w", width)
+                    .when()
+                    .get("/api/photos/download/image123.jpg")
+                    .then()
+                    .statusCode(301)
+                    .header("Cache-Control", "public, max-age=31536000, immutable")
+                    .header("Location", Matchers.endsWith("/api/photos/download/image123.jpg?w=160"));
+        }
+
+        RestAssuredMockMvc
+                .given()
+                .queryParam("w", 160)
+                .when()
+                .get("/api/photos/download/image123.jpg")
+                .then()
+                .statusCode(200)
+                .header("ETag", Matchers.endsWith("-w160\""));
+    }
+
+    @Test
+    public void RA_test_getImage_shouldReturn304ForMatchingETag() {
+        String etag = RestAssuredMockMvc
+                .given()
+                .when()
+                .get("/api/photos/download/image123.jpg")
+                .then()
+                .extract().header("ETag");
+
+        RestAssuredMockMvc
+                .given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/api/photos/download/image123.jpg")
+                .then()
+                .statusCode(304);
+    }
+
+    @Test
+    public void RA_test_getImage_usesContentHashAsETag() throws IOException {
+        String hash = "ab".repeat(32);
+        Path file = Files.write(tempDir.resolve(hash + ".jpg"), "0123456789".getBytes(StandardCharsets.US_ASCII));
+        Mockito.when(imageModelService.getBlob(hash + ".jpg")).thenReturn(StoredBlob.of(file));
+
+        RestAssuredMockMvc
+                .given()
+                .when()
+                .get("/api/photos/download/" + hash + ".jpg")
+                .then()
+                .statusCode(200)
+                .header("ETag", "\"" + hash + "\"");
+
+        // A refreshed timestamp does not change the tag.
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        Mockito.when(imageModelService.getBlob(hash + ".jpg")).thenReturn(StoredBlob.of(file));
+
+        RestAssuredMockMvc
+                .given()
+                .header("If-None-Match", "\"" + hash + "\"")
+                .when()
+                .get("/api/photos/download/" + hash + ".jpg")
+                .then()
+                .statusCode(304);
+    }
+
+    @Test
+    public void RA_test_getImage_shouldReturnRequestedRange() {
+        RestAssuredMockMvc
+                .given()
+                .header("Range", "bytes=2-5")
+                .when()
+                .get("/api/photos/download/image123.jpg")
+                .then()
+                .statusCode(206)
+                .header("Content-Range", "bytes 2-5/10")
+                .body(Matchers.equalTo("2345"));
+    }
+
+    @Test
+    public void RA_test_getImage_shouldReturnRangeOfMappedBlob() {
+        ByteBuffer content = ByteBuffer.wrap("xx0123456789".getBytes(StandardCharsets.US_ASCII), 2, 10).slice();
+        Mockito.when(imageModelService.getBlob("packed123.jpg"))
+                .thenReturn(new StoredBlob(tempDir.resolve("segment-000001.pack"), 2, 10, 1000L, content));
+
+        RestAssuredMockMvc
+                .given()
+                .header("Range", "bytes=6-")
+                .when()
+                .get("/api/photos/download/packed123.jpg")
+                .then()
+                .statusCode(206)
+                .header("Content-Range", "bytes 6-9/10")
+                .body(Matchers.equalTo("6789"));
+    }
+
+    @Test
+    public void RA_test_getImage_shouldReturn416ForUnsatisfiableRange() {
+        RestAssuredMockMvc
+                .given()
+                .header("Range", "bytes=20-30")
+                .when()
+                .get("/api/photos/download/image123.jpg")
+                .then()
+                .statusCode(416)
+                .header("Content-Range", "bytes */10");
+    }
+
+    @Test
+    public void RA_test_getImage_shouldReturn404ForMissingFile() {
+        RestAssuredMockMvc
+                .given()
+                .when()
+                .get("/api/photos/download/missing123.jpg")
+                .then()
+                .statusCode(404);
+    }
+}
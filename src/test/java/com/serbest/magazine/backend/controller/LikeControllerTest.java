@@ -48,7 +48,7 @@ class LikeControllerTest {
     public void RA_test_likeFunctionality_shouldAllowCommentCreationWithAuthentication() throws AccessDeniedException {
         UUID postId = UUID.randomUUID();
         LikeRequestDTO requestDTO = new LikeRequestDTO( postId.toString(),null);
-        LikeResponseDTO responseDTO = new LikeResponseDTO(UUID.randomUUID());
+        LikeResponseDTO responseDTO = new LikeResponseDTO(UUID.randomUUID(), true, 1L);
 
         Mockito.when(likeService.like(requestDTO)).thenReturn(responseDTO);
 
@@ -126,4 +126,22 @@ class LikeControllerTest {
                 .body("$", Matchers.equalTo(List.of("John","Jack")));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void RA_test_likedPosts_shouldAllowFetchingWithAuthentication() throws AccessDeniedException {
+        String postId = UUID.randomUUID().toString();
+        String otherPostId = UUID.randomUUID().toString();
+
+        Mockito.when(likeService.likedPosts(List.of(postId, otherPostId))).thenReturn(List.of(postId));
+
+        RestAssuredMockMvc
+                .given()
+                .auth().with(SecurityMockMvcRequestPostProcessors.user("ensar").roles("USER"))
+                .param("postIds", postId, otherPostId)
+                .when()
+                .get("/api/likes/likedPosts")
+                .then()
+                .statusCode(200)
+                .body("$", Matchers.equalTo(List.of(postId)));
+    }
+}
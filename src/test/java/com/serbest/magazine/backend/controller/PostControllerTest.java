@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.serbest.magazine.backend.dto.category.CategoryRequestDTO;
 import com.serbest.magazine.backend.dto.comment.CommentRequestDTO;
 import com.serbest.magazine.backend.dto.comment.CommentResponseDTO;
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.dto.post.*;
 import com.serbest.magazine.backend.service.PostService;
 import io.restassured.module.mockmvc.RestAssuredMockMvc;
@@ -211,14 +212,12 @@ class PostControllerTest {
     @Test
     public void RA_test_getAllPost_shouldAllowCommentsFetchingWithAuthentication() {
         UUID postId = UUID.randomUUID();
-        PostResponseDTO responseDTO = PostResponseDTO.builder()
+        PostCardResponseDTO responseDTO = PostCardResponseDTO.builder()
                 .id(postId)
-                .content("commentRequestDTO.getContent()")
                 .username("ensar")
                 .title("title")
                 .category("Test")
                 .createDateTime(LocalDateTime.now())
-                .updateDateTime(LocalDateTime.now())
                 .build();
 
         Mockito.when(postService.getAllPosts()).thenReturn(List.of(responseDTO));
@@ -234,10 +233,35 @@ class PostControllerTest {
                 .body("$.size()", Matchers.equalTo(1));
     }
 
+    @Test
+    public void RA_test_getHomePage_shouldAllowFetchingWithoutAuthentication() {
+        FirstFivePostsListDTO hero = new FirstFivePostsListDTO(UUID.randomUUID(), "file.png", 1200, 800, null, "Test Title");
+        MainPagePostsListDTO top = MainPagePostsListDTO.builder()
+                .id(UUID.randomUUID())
+                .title("Top Title")
+                .category("Politics")
+                .createDateTime(LocalDateTime.now())
+                .build();
+
+        Mockito.when(postService.getHomePage()).thenReturn(new HomePageResponseDTO(List.of(hero), List.of(top), List.of()));
+
+        RestAssuredMockMvc
+                .given()
+                .auth().none()
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .when()
+                .get("/api/posts/home")
+                .then()
+                .statusCode(200)
+                .body("hero[0].title", Matchers.equalTo("Test Title"))
+                .body("top[0].title", Matchers.equalTo("Top Title"))
+                .body("main.size()", Matchers.equalTo(0));
+    }
+
     @Test
     public void RA_test_getFirstFivePosts_shouldAllowCommentsFetchingWithAuthentication() {
         UUID postId = UUID.randomUUID();
-        FirstFivePostsListDTO responseDTO = new FirstFivePostsListDTO(postId, "file.png", "Test Title");
+        FirstFivePostsListDTO responseDTO = new FirstFivePostsListDTO(postId, "file.png", 1200, 800, null, "Test Title");
 
         Mockito.when(postService.getFirstFivePosts()).thenReturn(List.of(responseDTO));
 
@@ -333,14 +357,12 @@ class PostControllerTest {
     @Test
     public void RA_test_getPostsByUsername_shouldAllowCommentsFetchingWithAuthentication() {
         UUID postId = UUID.randomUUID();
-        PostResponseDTO responseDTO = PostResponseDTO.builder()
+        PostCardResponseDTO responseDTO = PostCardResponseDTO.builder()
                 .id(postId)
-                .content("Test Content")
                 .username("ensar")
                 .title("title")
                 .category("Test")
                 .createDateTime(LocalDateTime.now())
-                .updateDateTime(LocalDateTime.now())
                 .build();
 
         Mockito.when(postService.findByUsername("ensar")).thenReturn(List.of(responseDTO));
@@ -615,14 +637,12 @@ class PostControllerTest {
     @Test
     public void RA_test_getAllPostByCategory_shouldAllowCommentsFetchingWithoutAuthentication() {
         UUID postId = UUID.randomUUID();
-        PostResponseDTO responseDTO = PostResponseDTO.builder()
+        PostCardResponseDTO responseDTO = PostCardResponseDTO.builder()
                 .id(postId)
-                .content("Test Content")
                 .username("ensar")
                 .title("title")
                 .category("Test")
                 .createDateTime(LocalDateTime.now())
-                .updateDateTime(LocalDateTime.now())
                 .build();
 
         Mockito.when(postService.getPostsByCategory("Test")).thenReturn(List.of(responseDTO));
@@ -640,14 +660,12 @@ class PostControllerTest {
     @Test
     public void RA_test_getThreeByRandomPosts_shouldAllowCommentsFetchingWithoutAuthentication() {
         UUID postId = UUID.randomUUID();
-        PostResponseDTO responseDTO = PostResponseDTO.builder()
+        PostCardResponseDTO responseDTO = PostCardResponseDTO.builder()
                 .id(postId)
-                .content("Test Content")
                 .username("ensar")
                 .title("title")
                 .category("Test")
                 .createDateTime(LocalDateTime.now())
-                .updateDateTime(LocalDateTime.now())
                 .build();
 
         Mockito.when(postService.getRandomThreePost()).thenReturn(List.of(responseDTO));
@@ -662,6 +680,32 @@ class PostControllerTest {
                 .statusCode(200);
     }
 
+    @Test
+    public void RA_test_getPostsPage_shouldAllowFetchingWithoutAuthentication() {
+        PostCardResponseDTO responseDTO = PostCardResponseDTO.builder()
+                .id(UUID.randomUUID())
+                .title("title")
+                .category("Test")
+                .createDateTime(LocalDateTime.now())
+                .build();
+
+        Mockito.when(postService.getPostsPage("cursor", 5))
+                .thenReturn(new PageResponseDTO<>(List.of(responseDTO), "next"));
+
+        RestAssuredMockMvc
+                .given()
+                .auth().none()
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .param("cursor", "cursor")
+                .param("size", 5)
+                .when()
+                .get("/api/posts/page")
+                .then()
+                .statusCode(200)
+                .body("content.size()", Matchers.equalTo(1))
+                .body("next", Matchers.equalTo("next"));
+    }
+
     @Test
     public void RA_test_countsByCategoryName_shouldAllowCommentsFetchingWithoutAuthentication() {
 
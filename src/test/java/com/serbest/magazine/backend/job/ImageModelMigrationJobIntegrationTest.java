@@ -0,0 +1,138 @@
+package com.serbest.magazine.backend.job;
+
+import com.serbest.magazine.backend.dto.auth.RegisterRequestDTO;
+import com.serbest.magazine.backend.entity.Author;
+import com.serbest.magazine.backend.entity.ImageModel;
+import com.serbest.magazine.backend.repository.AuthorRepository;
+import com.serbest.magazine.backend.repository.ImageModelRepository;
+import com.serbest.magazine.backend.repository.PostRepository;
+import com.serbest.magazine.backend.service.AuthService;
+import com.serbest.magazine.backend.service.ImageModelService;
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@SpringBootTest
+class ImageModelMigrationJobIntegrationTest {
+
+    @Autowired
+    ImageModelMigrationJob imageModelMigrationJob;
+
+    @Autowired
+    ImageModelRepository imageModelRepository;
+
+    @Autowired
+    AuthorRepository authorRepository;
+
+    @Autowired
+    AuthService authService;
+
+    @Autowired
+    ImageModelService imageModelService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testIntegration_migrateImages_movesRowsAndRewritesReferences() throws IOException {
+        authService.register(RegisterRequestDTO.builder()
+                .username("user")
+                .email("user@test.com")
+                .password("password123")
+                .build()).join();
+        Author author = authorRepository.findByUsername("user").get();
+        author.setProfileImage("avatar1677252684787.png");
+        authorRepository.save(author);
+
+        byte[] png = png();
+        ImageModel image = imageModelRepository.save(
+                new ImageModel("avatar1677252684787.png", "image/png", BlobProxy.generateProxy(png)));
+
+        assertEquals(1, imageModelMigrationJob.migrateImages());
+
+        String storedName = imageModelRepository.findById(image.getId()).get().getMigratedTo();
+        assertTrue(storedName.matches("[0-9a-f]{64}\\.png"));
+        assertEquals(storedName, authorRepository.findByUsername("user").get().getProfileImage());
+        try (InputStream inputStream = imageModelService.getBlob(storedName).openStream()) {
+            assertArrayEquals(png, inputStream.readAllBytes());
+        }
+        assertEquals(0, imageModelMigrationJob.migrateImages());
+    }
+
+    @Test
+    public void testIntegration_migrateImages_leavesFailedRowsForNextRun() {
+        ImageModel image = imageModelRepository.save(new ImageModel("broken.png", "image/png", null));
+
+        assertEquals(0, imageModelMigrationJob.migrateImages());
+
+        assertNull(imageModelRepository.findById(image.getId()).get().getMigratedTo());
+        assertEquals(1, imageModelRepository.findById(image.getId()).get().getMigrationAttempts());
+        assertEquals(1, imageModelRepository.countByMigratedToIsNull());
+    }
+
+    @Test
+    public void testIntegration_migrateImages_stopsTryingRowsThatKeepFailing() throws IOException {
+        ImageModel broken = imageModelRepository.save(new ImageModel("broken.png", "image/png", null));
+        ImageModel image = imageModelRepository.save(
+                new ImageModel("image1677252684787.png", "image/png", BlobProxy.generateProxy(png())));
+
+        // One row per run: the broken row takes at most three runs before the image gets its turn.
+        ImageModelMigrationJob oneRowPerRun = new ImageModelMigrationJob(imageModelRepository, postRepository,
+                authorRepository, imageModelService, transactionManager, 20, 1, 3);
+        int migrated = 0;
+        for (int run = 0; run < 4; run++) {
+            migrated += oneRowPerRun.migrateImages();
+        }
+
+        assertEquals(1, migrated);
+        assertNotNull(imageModelRepository.findById(image.getId()).get().getMigratedTo());
+        assertEquals(3, imageModelRepository.findById(broken.getId()).get().getMigrationAttempts());
+        assertEquals(0, oneRowPerRun.migrateImages());
+        assertEquals(3, imageModelRepository.findById(broken.getId()).get().getMigrationAttempts());
+    }
+
+    @Test
+    public void testIntegration_migrateImages_storesRowsTheUploadChecksWouldReject() throws IOException {
+        byte[] large = new byte[3 * 1024 * 1024];
+        byte[] png = png();
+        System.arraycopy(png, 0, large, 0, png.length);
+        byte[] text = "not an image".getBytes(StandardCharsets.US_ASCII);
+        ImageModel largeImage = imageModelRepository.save(
+                new ImageModel("large1677252684787.png", "image/png", BlobProxy.generateProxy(large)));
+        ImageModel notes = imageModelRepository.save(
+                new ImageModel("notes.txt", "text/plain", BlobProxy.generateProxy(text)));
+
+        assertEquals(2, imageModelMigrationJob.migrateImages());
+
+        String largeName = imageModelRepository.findById(largeImage.getId()).get().getMigratedTo();
+        String notesName = imageModelRepository.findById(notes.getId()).get().getMigratedTo();
+        assertTrue(largeName.matches("[0-9a-f]{64}\\.png"));
+        assertTrue(notesName.matches("[0-9a-f]{64}\\.txt"));
+        assertEquals(large.length, imageModelService.getBlob(largeName).getLength());
+        try (InputStream inputStream = imageModelService.getBlob(notesName).openStream()) {
+            assertArrayEquals(text, inputStream.readAllBytes());
+        }
+    }
+
+    private static byte[] png() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB), "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,86 @@
+package com.serbest.magazine.backend.job;
+
+import com.serbest.magazine.backend.entity.Author;
+import com.serbest.magazine.backend.entity.Category;
+import com.serbest.magazine.backend.entity.Like;
+import com.serbest.magazine.backend.entity.Post;
+import com.serbest.magazine.backend.repository.AuthorRepository;
+import com.serbest.magazine.backend.repository.CategoryRepository;
+import com.serbest.magazine.backend.repository.LikeRepository;
+import com.serbest.magazine.backend.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@SpringBootTest
+class LikeKeyRepairJobIntegrationTest {
+
+    @Autowired
+    LikeKeyRepairJob likeKeyRepairJob;
+
+    @Autowired
+    LikeRepository likeRepository;
+
+    @Autowired
+    AuthorRepository authorRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testIntegration_repairLikeKeys_keysExistAfterStartup() {
+        assertTrue(likeRepository.findUniqueConstraintNames().containsAll(
+                List.of("uk_likes_post_author", "uk_likes_comment_author")));
+    }
+
+    @Test
+    public void testIntegration_repairLikeKeys_removesDuplicatesAndAddsMissingKey() {
+        // As left behind by a schema update that could not add the key.
+        jdbcTemplate.execute("alter table likes drop constraint uk_likes_post_author");
+        Author author = authorRepository.save(Author.Builder.newBuilder()
+                .username("testUser")
+                .password("testpassword")
+                .email("test@email.com")
+                .active(true)
+                .createDateTime(LocalDateTime.now())
+                .build());
+        Post post = postRepository.save(Post.Builder.newBuilder()
+                .postId(UUID.randomUUID())
+                .title("Test Title")
+                .content("Test Content")
+                .category(categoryRepository.save(new Category("Siyaset")))
+                .author(author)
+                .active(true)
+                .postImage("file.png")
+                .build());
+        likeRepository.save(new Like(post, null, author));
+        likeRepository.save(new Like(post, null, author));
+
+        likeKeyRepairJob.repairLikeKeys();
+
+        assertEquals(1, likeRepository.count());
+        assertTrue(likeRepository.findUniqueConstraintNames().contains("uk_likes_post_author"));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> likeRepository.save(new Like(post, null, author)));
+
+        // Nothing left to do on the next start.
+        likeKeyRepairJob.repairLikeKeys();
+        assertEquals(1, likeRepository.count());
+    }
+}
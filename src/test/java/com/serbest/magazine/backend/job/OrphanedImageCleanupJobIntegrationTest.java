@@ -0,0 +1,62 @@
+package com.serbest.magazine.backend.job;
+
+import com.serbest.magazine.backend.service.ImageModelService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@SpringBootTest
+class OrphanedImageCleanupJobIntegrationTest {
+
+    @Autowired
+    OrphanedImageCleanupJob orphanedImageCleanupJob;
+
+    @Autowired
+    ImageModelService imageModelService;
+
+    @Test
+    public void testIntegration_deleteOrphanedImages_deletesOldOrphan() throws IOException {
+        byte[] png = png();
+        String name = imageModelService.upload(new ByteArrayInputStream(png), "orphan.png");
+        Path file = imageModelService.getBlob(name).getFile();
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofDays(2).toMillis()));
+
+        assertEquals(png.length, orphanedImageCleanupJob.deleteOrphanedImages());
+
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testIntegration_deleteOrphanedImages_keepsReuploadedOrphan() throws IOException {
+        byte[] png = png();
+        String name = imageModelService.upload(new ByteArrayInputStream(png), "orphan.png");
+        Path file = imageModelService.getBlob(name).getFile();
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofDays(2).toMillis()));
+
+        // Uploaded again for a post that is not saved yet.
+        assertEquals(name, imageModelService.upload(new ByteArrayInputStream(png), "again.png"));
+
+        assertEquals(0, orphanedImageCleanupJob.deleteOrphanedImages());
+        assertTrue(Files.exists(file));
+    }
+
+    private static byte[] png() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB), "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
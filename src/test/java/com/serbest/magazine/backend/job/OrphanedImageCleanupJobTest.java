@@ -0,0 +1,79 @@
+package com.serbest.magazine.backend.job;
+
+import com.serbest.magazine.backend.repository.AuthorRepository;
+import com.serbest.magazine.backend.repository.PostRepository;
+import com.serbest.magazine.backend.service.ImageModelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrphanedImageCleanupJobTest {
+
+    @Mock
+    private ImageModelService imageModelService;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrphanedImageCleanupJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new OrphanedImageCleanupJob(imageModelService, postRepository, authorRepository, transactionManager,
+                2, Duration.ofHours(1));
+        lenient().when(imageModelService.storageKey(anyString()))
+                .thenAnswer(invocation -> ((String) invocation.getArgument(0)).replaceAll("\\..*", ""));
+    }
+
+    @Test
+    public void test_deleteOrphanedImages_deletesOnlyUnreferencedImages() throws IOException {
+        when(postRepository.streamPostImages()).thenReturn(Stream.of("post.jpg"));
+        when(authorRepository.streamProfileImages()).thenReturn(Stream.of("author.png"));
+        when(imageModelService.storedImages()).thenReturn(Stream.of("post", "orphan1", "author", "orphan2", "orphan3"));
+        when(postRepository.findPostImagesByStorageKeyIn(anyCollection())).thenReturn(List.of());
+        when(authorRepository.findProfileImagesByStorageKeyIn(anyCollection())).thenReturn(List.of());
+        when(imageModelService.deleteIfOlderThan(eq("orphan1"), anyLong())).thenReturn(100L);
+        when(imageModelService.deleteIfOlderThan(eq("orphan2"), anyLong())).thenReturn(50L);
+        // Still inside the grace period.
+        when(imageModelService.deleteIfOlderThan(eq("orphan3"), anyLong())).thenReturn(-1L);
+
+        assertEquals(150, job.deleteOrphanedImages());
+
+        verify(imageModelService, never()).deleteIfOlderThan(eq("post"), anyLong());
+        verify(imageModelService, never()).deleteIfOlderThan(eq("author"), anyLong());
+        verify(postRepository).findPostImagesByStorageKeyIn(List.of("orphan1", "orphan2"));
+        verify(postRepository).findPostImagesByStorageKeyIn(List.of("orphan3"));
+    }
+
+    @Test
+    public void test_deleteOrphanedImages_keepsImagesReferencedAfterTheScan() throws IOException {
+        when(postRepository.streamPostImages()).thenReturn(Stream.empty());
+        when(authorRepository.streamProfileImages()).thenReturn(Stream.empty());
+        when(imageModelService.storedImages()).thenReturn(Stream.of("fresh"));
+        when(postRepository.findPostImagesByStorageKeyIn(anyCollection())).thenReturn(List.of("fresh.jpg"));
+        when(authorRepository.findProfileImagesByStorageKeyIn(anyCollection())).thenReturn(List.of());
+
+        assertEquals(0, job.deleteOrphanedImages());
+
+        verify(imageModelService, never()).deleteIfOlderThan(anyString(), anyLong());
+    }
+}
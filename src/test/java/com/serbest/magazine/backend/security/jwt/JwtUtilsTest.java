@@ -0,0 +1,58 @@
+package com.serbest.magazine.backend.security.jwt;
+
+import com.serbest.magazine.backend.exception.CustomApplicationException;
+import com.serbest.magazine.backend.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "accessTokenSecret",
+                "AccessTokenmagazineSecretKeymagazineSecretKeymagazineSecretKeymagazineSecretKey");
+        ReflectionTestUtils.setField(jwtUtils, "accessTokenExpirationMs", 60000);
+        ReflectionTestUtils.setField(jwtUtils, "statelessPrincipal", true);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheSize", 100L);
+        jwtUtils.init();
+    }
+
+    @Test
+    public void test_verifyAccessToken_returnsClaimsAndCachesThem() {
+        UUID id = UUID.randomUUID();
+        String token = jwtUtils.generateAccessTokenFromJWT("user", id, List.of("ROLE_USER"), "avatar.jpg");
+
+        Claims claims = jwtUtils.verifyAccessToken(token);
+        UserDetailsImpl userDetails = jwtUtils.getUserDetailsFromClaims(claims);
+
+        assertEquals("user", claims.getSubject());
+        assertSame(claims, jwtUtils.verifyAccessToken(token));
+        assertEquals(id, userDetails.getId());
+        assertEquals("avatar.jpg", userDetails.getImage());
+        assertEquals("ROLE_USER", userDetails.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    public void test_verifyAccessToken_rejectsMalformedToken() {
+        assertThrows(CustomApplicationException.class, () -> jwtUtils.verifyAccessToken("not-a-token"));
+        assertThrows(CustomApplicationException.class, () -> jwtUtils.verifyAccessToken(null));
+    }
+
+    @Test
+    public void test_verifyAccessToken_rejectsExpiredToken() {
+        ReflectionTestUtils.setField(jwtUtils, "accessTokenExpirationMs", -1000);
+        String token = jwtUtils.generateAccessTokenFromJWT("user", UUID.randomUUID(), List.of("ROLE_USER"), null);
+
+        assertThrows(CustomApplicationException.class, () -> jwtUtils.verifyAccessToken(token));
+    }
+}
@@ -0,0 +1,55 @@
+package com.serbest.magazine.backend.security.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor(1, 1);
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Test
+    public void test_submit_runsTaskAndRecordsLatency() {
+        assertEquals("hash", passwordHashingExecutor.submit(() -> "hash").join());
+        assertEquals(1, passwordHashingExecutor.getCompletedCount());
+    }
+
+    @Test
+    public void test_submit_rejectsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = passwordHashingExecutor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "running";
+        });
+        started.await();
+        CompletableFuture<String> queued = passwordHashingExecutor.submit(() -> "queued");
+
+        assertEquals(1, passwordHashingExecutor.getQueueDepth());
+        assertThrows(RejectedExecutionException.class, () -> passwordHashingExecutor.submit(() -> "rejected"));
+        assertEquals(1, passwordHashingExecutor.getRejectedCount());
+
+        release.countDown();
+        assertEquals("running", running.join());
+        assertEquals("queued", queued.join());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.serbest.magazine.backend.security.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationServiceTest {
+
+    TokenRevocationService tokenRevocationService = new TokenRevocationService(60000, 100);
+
+    @Test
+    public void test_isRevoked_falseForUnknownUser() {
+        assertFalse(tokenRevocationService.isRevoked("user", new Date()));
+    }
+
+    @Test
+    public void test_isRevoked_onlyCoversTokensIssuedBeforeRevocation() {
+        Date issuedBefore = new Date(System.currentTimeMillis() - 5000);
+
+        tokenRevocationService.revokeIssuedTokens("user");
+
+        assertTrue(tokenRevocationService.isRevoked("user", issuedBefore));
+        assertTrue(tokenRevocationService.isRevoked("user", null));
+        assertFalse(tokenRevocationService.isRevoked("user", new Date(System.currentTimeMillis() + 5000)));
+        assertFalse(tokenRevocationService.isRevoked("other", issuedBefore));
+    }
+}
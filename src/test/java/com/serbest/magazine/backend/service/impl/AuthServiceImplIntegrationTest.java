@@ -0,0 +1,88 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.dto.auth.JWTAuthResponse;
+import com.serbest.magazine.backend.dto.auth.LoginRequestDTO;
+import com.serbest.magazine.backend.dto.auth.RegisterRequestDTO;
+import com.serbest.magazine.backend.entity.Author;
+import com.serbest.magazine.backend.repository.AuthorRepository;
+import com.serbest.magazine.backend.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@SpringBootTest
+class AuthServiceImplIntegrationTest {
+
+    @Autowired
+    AuthService authService;
+
+    @Autowired
+    AuthorRepository authorRepository;
+
+    @Test
+    public void testIntegration_register_storesPasswordWithEncoderId() {
+        authService.register(registerRequest()).join();
+
+        Author author = authorRepository.findByUsername("user").get();
+        assertTrue(author.getPassword().startsWith("{bcrypt}$2a$04$"));
+    }
+
+    @Test
+    public void testIntegration_login_success() {
+        authService.register(registerRequest()).join();
+
+        JWTAuthResponse response = authService.login(null, new LoginRequestDTO("user", "password123")).join();
+
+        assertEquals("user", response.getUsername());
+        assertNotNull(response.getAccessToken());
+    }
+
+    @Test
+    public void testIntegration_login_wrongPassword() {
+        authService.register(registerRequest()).join();
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> authService.login(null, new LoginRequestDTO("user", "wrongPassword")).join());
+        assertInstanceOf(BadCredentialsException.class, exception.getCause());
+    }
+
+    @Test
+    public void testIntegration_login_rehashesLegacyPassword() {
+        authService.register(registerRequest()).join();
+        Author author = authorRepository.findByUsername("user").get();
+        author.setPassword(new BCryptPasswordEncoder(5).encode("password123"));
+        authorRepository.save(author);
+
+        authService.login(null, new LoginRequestDTO("user", "password123")).join();
+
+        assertTrue(authorRepository.findByUsername("user").get().getPassword().startsWith("{bcrypt}$2a$04$"));
+    }
+
+    @Test
+    public void testIntegration_login_rehashesPasswordWithHigherCost() {
+        authService.register(registerRequest()).join();
+        Author author = authorRepository.findByUsername("user").get();
+        author.setPassword("{bcrypt}" + new BCryptPasswordEncoder(16).encode("password123"));
+        authorRepository.save(author);
+
+        authService.login(null, new LoginRequestDTO("user", "password123")).join();
+
+        assertTrue(authorRepository.findByUsername("user").get().getPassword().startsWith("{bcrypt}$2a$04$"));
+    }
+
+    private RegisterRequestDTO registerRequest() {
+        return RegisterRequestDTO.builder()
+                .username("user")
+                .email("user@test.com")
+                .password("password123")
+                .build();
+    }
+}
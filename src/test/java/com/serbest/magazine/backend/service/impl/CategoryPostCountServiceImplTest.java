@@ -0,0 +1,68 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.dto.category.CategoryPostCountDTO;
+import com.serbest.magazine.backend.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryPostCountServiceImplTest {
+
+    @InjectMocks
+    CategoryPostCountServiceImpl categoryPostCountService;
+
+    @Mock
+    PostRepository postRepository;
+
+    @Test
+    public void test_getPostCount_loadedOnceFromGroupedQuery() {
+        UUID politics = UUID.randomUUID();
+        UUID sports = UUID.randomUUID();
+        when(postRepository.countActivePostsGroupByCategory()).thenReturn(List.of(
+                new CategoryPostCountDTO(politics, 3L),
+                new CategoryPostCountDTO(sports, 1L)
+        ));
+
+        assertEquals(3, categoryPostCountService.getPostCount(politics));
+        assertEquals(1, categoryPostCountService.getPostCount(sports));
+        assertEquals(0, categoryPostCountService.getPostCount(UUID.randomUUID()));
+        verify(postRepository, times(1)).countActivePostsGroupByCategory();
+    }
+
+    @Test
+    public void test_postMoved_adjustsCounters() {
+        UUID politics = UUID.randomUUID();
+        UUID sports = UUID.randomUUID();
+        when(postRepository.countActivePostsGroupByCategory())
+                .thenReturn(List.of(new CategoryPostCountDTO(politics, 2L)));
+        categoryPostCountService.getPostCount(politics);
+
+        categoryPostCountService.postMoved(null, sports);
+        categoryPostCountService.postMoved(politics, sports);
+        categoryPostCountService.postMoved(politics, null);
+        categoryPostCountService.postMoved(sports, sports);
+
+        assertEquals(0, categoryPostCountService.getPostCount(politics));
+        assertEquals(2, categoryPostCountService.getPostCount(sports));
+    }
+
+    @Test
+    public void test_postMoved_beforeLoadIsIgnored() {
+        UUID politics = UUID.randomUUID();
+        when(postRepository.countActivePostsGroupByCategory())
+                .thenReturn(List.of(new CategoryPostCountDTO(politics, 1L)));
+
+        categoryPostCountService.postMoved(null, politics);
+
+        assertEquals(1, categoryPostCountService.getPostCount(politics));
+    }
+}
@@ -0,0 +1,91 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.entity.Category;
+import com.serbest.magazine.backend.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryRegistryImplTest {
+
+    @InjectMocks
+    CategoryRegistryImpl categoryRegistry;
+
+    @Mock
+    CategoryRepository categoryRepository;
+
+    @Test
+    public void test_findByNameAndId_servedFromSnapshot() {
+        Category politics = new Category(UUID.randomUUID(), "Siyaset", true);
+        when(categoryRepository.findAll()).thenReturn(List.of(politics));
+
+        assertEquals(politics.getId(), categoryRegistry.findByName("Siyaset").get().getId());
+        assertEquals("Siyaset", categoryRegistry.findById(politics.getId()).get().getName());
+        verify(categoryRepository, times(1)).findAll();
+        verify(categoryRepository, never()).findByName(any());
+    }
+
+    @Test
+    public void test_findByName_missFallsBackToRepository() {
+        Category sports = new Category(UUID.randomUUID(), "Spor", true);
+        when(categoryRepository.findAll()).thenReturn(List.of());
+        when(categoryRepository.findByName("Spor")).thenReturn(Optional.of(sports));
+
+        assertTrue(categoryRegistry.findByName("Spor").isPresent());
+        assertTrue(categoryRegistry.findByName("Spor").isPresent());
+        assertEquals(1, categoryRegistry.getActiveCategories().size());
+        verify(categoryRepository, times(1)).findByName("Spor");
+    }
+
+    @Test
+    public void test_findByName_remembersUnknownName() {
+        when(categoryRepository.findAll()).thenReturn(List.of());
+        when(categoryRepository.findByName("Bilinmeyen")).thenReturn(Optional.empty());
+
+        assertTrue(categoryRegistry.findByName("Bilinmeyen").isEmpty());
+        assertTrue(categoryRegistry.findByName("Bilinmeyen").isEmpty());
+        verify(categoryRepository, times(1)).findByName("Bilinmeyen");
+
+        categoryRegistry.register(new Category(UUID.randomUUID(), "Bilinmeyen", true));
+
+        assertTrue(categoryRegistry.findByName("Bilinmeyen").isPresent());
+    }
+
+    @Test
+    public void test_register_swapsRenamedAndDeletedCategories() {
+        UUID id = UUID.randomUUID();
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(id, "siyaset", true)));
+        when(categoryRepository.findByName("siyaset")).thenReturn(Optional.empty());
+
+        categoryRegistry.register(new Category(id, "Siyaset", true));
+
+        assertTrue(categoryRegistry.findByName("siyaset").isEmpty());
+        assertEquals("Siyaset", categoryRegistry.getActiveCategories().get(0).getName());
+
+        categoryRegistry.register(new Category(id, "Siyaset", false));
+
+        assertTrue(categoryRegistry.getActiveCategories().isEmpty());
+        assertTrue(categoryRegistry.findById(id).isPresent());
+    }
+
+    @Test
+    public void test_getReferenceByName_handsOutJpaReference() {
+        Category politics = new Category(UUID.randomUUID(), "Siyaset", true);
+        Category reference = new Category(politics.getId(), "Siyaset", true);
+        when(categoryRepository.findAll()).thenReturn(List.of(politics));
+        when(categoryRepository.getReferenceById(politics.getId())).thenReturn(reference);
+
+        assertSame(reference, categoryRegistry.getReferenceByName("Siyaset").get());
+    }
+}
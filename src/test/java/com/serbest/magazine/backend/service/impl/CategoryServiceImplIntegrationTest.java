@@ -55,6 +55,20 @@ class CategoryServiceImplIntegrationTest {
         assertEquals(categories.size(), 1);
     }
 
+    @Test
+    public void testIntegration_getAllCategory_followsUpdateAndDelete() {
+        categoryService.createCategory(new CategoryRequestDTO("Spor"));
+        Category category = categoryRepository.findByName("Spor").get();
+
+        categoryService.updateCategory(category.getId().toString(), new CategoryRequestDTO("Siyaset"));
+
+        assertEquals("Siyaset", categoryService.getAllCategory().get(0).getName());
+
+        categoryService.deleteCategory(category.getId().toString());
+
+        assertTrue(categoryService.getAllCategory().isEmpty());
+    }
+
     @Test
     public void testIntegration_updateCategory_success() {
         String categoryName = generateRandomCategoryName();
@@ -7,6 +7,8 @@ import com.serbest.magazine.backend.entity.Category;
 import com.serbest.magazine.backend.exception.CustomApplicationException;
 import com.serbest.magazine.backend.mapper.CategoryMapper;
 import com.serbest.magazine.backend.repository.CategoryRepository;
+import com.serbest.magazine.backend.service.CategoryPostCountService;
+import com.serbest.magazine.backend.service.CategoryRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -27,6 +29,10 @@ class CategoryServiceImplTest {
     CategoryRepository categoryRepository;
     @Mock
     CategoryMapper categoryMapper;
+    @Mock
+    CategoryPostCountService categoryPostCountService;
+    @Mock
+    CategoryRegistry categoryRegistry;
 
 
     @Test
@@ -103,10 +109,14 @@ class CategoryServiceImplTest {
     public void test_getAllCategory_withSuccess() {
         Category category = new Category(UUID.randomUUID(), "Siyaset", true);
         Category category2 = new Category(UUID.randomUUID(), "Spor", true);
-        when(categoryRepository.findByActiveTrue()).thenReturn(Arrays.asList(category, category2));
+        when(categoryRegistry.getActiveCategories()).thenReturn(Arrays.asList(category, category2));
+        when(categoryPostCountService.getPostCount(category.getId())).thenReturn(3);
+        when(categoryMapper.categoryToCategoryResponseDTO(category, 3))
+                .thenReturn(new CategoryResponseDTO(category.getId(), "Siyaset", 3));
         List<CategoryResponseDTO> categoryResponseDTOS = categoryService.getAllCategory();
 
         assertEquals(2, categoryResponseDTOS.size());
+        assertEquals(3, categoryResponseDTOS.get(0).getPostCounts());
     }
 
     @Test
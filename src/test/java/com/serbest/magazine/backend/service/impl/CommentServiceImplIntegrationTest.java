@@ -3,17 +3,23 @@ package com.serbest.magazine.backend.service.impl;
 import com.serbest.magazine.backend.dto.comment.CommentRequestDTO;
 import com.serbest.magazine.backend.dto.comment.CommentResponseDTO;
 import com.serbest.magazine.backend.dto.general.MessageResponseDTO;
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.entity.Author;
 import com.serbest.magazine.backend.entity.Category;
 import com.serbest.magazine.backend.entity.Comment;
+import com.serbest.magazine.backend.entity.Like;
 import com.serbest.magazine.backend.entity.Post;
 import com.serbest.magazine.backend.exception.ResourceNotFoundException;
+import com.serbest.magazine.backend.job.CommentCountRepairJob;
 import com.serbest.magazine.backend.mapper.CommentMapper;
 import com.serbest.magazine.backend.repository.AuthorRepository;
 import com.serbest.magazine.backend.repository.CategoryRepository;
 import com.serbest.magazine.backend.repository.CommentRepository;
+import com.serbest.magazine.backend.repository.LikeRepository;
 import com.serbest.magazine.backend.repository.PostRepository;
 import com.serbest.magazine.backend.service.CommentService;
+import com.serbest.magazine.backend.service.LikeIndex;
+import com.serbest.magazine.backend.util.PageCursor;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -62,6 +68,15 @@ class CommentServiceImplIntegrationTest {
     @Autowired
     PostRepository postRepository;
 
+    @Autowired
+    CommentCountRepairJob commentCountRepairJob;
+
+    @Autowired
+    LikeRepository likeRepository;
+
+    @Autowired
+    LikeIndex likeIndex;
+
     UUID authorId;
 
     UUID postId;
@@ -118,6 +133,7 @@ class CommentServiceImplIntegrationTest {
 
         assertEquals(responseDTO.getPostId(), postId.toString());
         assertEquals(responseDTO.getContent(), "Content");
+        assertEquals(1L, postRepository.findById(postId).get().getCommentCount());
     }
 
     @Test
@@ -166,6 +182,164 @@ class CommentServiceImplIntegrationTest {
         assertEquals(responseDTOS.get(0).getContent(), "Content");
     }
 
+    @Test
+    public void testIntegration_getAllComments_returnsOnlyTheNewestPage() {
+        Post post = postRepository.findById(postId).get();
+        Author author = authorRepository.findById(authorId).get();
+        for (int i = 0; i <= PageCursor.MAX_PAGE_SIZE; i++) {
+            commentRepository.save(new Comment("Content" + i, post, author));
+        }
+
+        List<CommentResponseDTO> responseDTOS = commentService.getAllComments(this.postId.toString());
+
+        assertEquals(PageCursor.MAX_PAGE_SIZE, responseDTOS.size());
+        assertEquals("Content" + PageCursor.MAX_PAGE_SIZE, responseDTOS.get(0).getContent());
+    }
+
+    @Test
+    public void testIntegration_getCommentsPage_seeksThroughNewestFirst() {
+        Post post = postRepository.findById(postId).get();
+        Author author = authorRepository.findById(authorId).get();
+        for (int i = 1; i <= 3; i++) {
+            commentRepository.save(new Comment("Content" + i, post, author));
+        }
+
+        PageResponseDTO<CommentResponseDTO> first = commentService.getCommentsPage(postId.toString(), null, 2, 0);
+        PageResponseDTO<CommentResponseDTO> second = commentService.getCommentsPage(postId.toString(), first.getNext(), 2, 0);
+
+        assertEquals(List.of("Content3", "Content2"),
+                first.getContent().stream().map(CommentResponseDTO::getContent).toList());
+        assertEquals("testUser", first.getContent().get(0).getUsername());
+        assertEquals(List.of("Content1"),
+                second.getContent().stream().map(CommentResponseDTO::getContent).toList());
+        assertNull(second.getNext());
+    }
+
+    @Test
+    public void testIntegration_replies_areThreadedAndCounted() {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+        Mockito.when(authentication.getName()).thenReturn("testUser");
+        SecurityContextHolder.setContext(securityContext);
+
+        String root = commentService.createComment(new CommentRequestDTO("Root", postId.toString()))
+                .getCommentId().toString();
+        String reply1 = reply(root, "Reply1");
+        reply(root, "Reply2");
+        reply(root, "Reply3");
+        String nested = reply(reply1, "Nested");
+        reply(nested, "Deep");
+
+        PageResponseDTO<CommentResponseDTO> page = commentService.getCommentsPage(postId.toString(), null, 10, 2);
+        CommentResponseDTO thread = commentService.getThread(root);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(3L, page.getContent().get(0).getReplyCount());
+        assertEquals(List.of("Reply1", "Reply2"),
+                page.getContent().get(0).getReplies().stream().map(CommentResponseDTO::getContent).toList());
+        assertEquals(3, thread.getReplies().size());
+        CommentResponseDTO nestedReply = thread.getReplies().get(0).getReplies().get(0);
+        assertEquals("Nested", nestedReply.getContent());
+        assertEquals(2, nestedReply.getDepth());
+        assertEquals("Deep", nestedReply.getReplies().get(0).getContent());
+        assertEquals(6L, postRepository.findById(postId).get().getCommentCount());
+        assertEquals(0, commentCountRepairJob.repairCommentCounts());
+    }
+
+    @Test
+    public void testIntegration_getCommentsPage_countsLikes() {
+        Post post = postRepository.findById(postId).get();
+        Author author = authorRepository.findById(authorId).get();
+        Author otherAuthor = authorRepository.save(Author.Builder.newBuilder()
+                .username("otherUser")
+                .password("testpassword")
+                .email("other@email.com")
+                .active(true)
+                .build());
+        Comment liked = commentRepository.save(new Comment("Liked", post, author));
+        Comment likedByOther = commentRepository.save(new Comment("LikedByOther", post, author));
+        commentRepository.save(new Comment("NotLiked", post, author));
+        likeRepository.save(new Like(null, liked, author));
+        likeRepository.save(new Like(null, liked, otherAuthor));
+        likeRepository.save(new Like(null, likedByOther, otherAuthor));
+        // Saved around the like toggles, so the index reads them again.
+        likeIndex.rebuild();
+
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+        Mockito.when(authentication.getName()).thenReturn("testUser");
+        SecurityContextHolder.setContext(securityContext);
+
+        List<CommentResponseDTO> comments = commentService.getCommentsPage(postId.toString(), null, 10, 0).getContent();
+
+        assertEquals(List.of("NotLiked", "LikedByOther", "Liked"),
+                comments.stream().map(CommentResponseDTO::getContent).toList());
+        assertEquals(List.of(0L, 1L, 2L), comments.stream().map(CommentResponseDTO::getLikeCount).toList());
+        assertEquals(List.of(false, false, true),
+                comments.stream().map(CommentResponseDTO::getLikedByCurrentUser).toList());
+    }
+
+    @Test
+    public void testIntegration_deleteById_removesReplies() throws AccessDeniedException {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+        Mockito.when(authentication.getName()).thenReturn("testUser");
+        SecurityContextHolder.setContext(securityContext);
+
+        String root = commentService.createComment(new CommentRequestDTO("Root", postId.toString()))
+                .getCommentId().toString();
+        String reply1 = reply(root, "Reply1");
+        String nested = reply(reply1, "Nested");
+        reply(root, "Reply2");
+        Author author = authorRepository.findById(authorId).get();
+        likeRepository.save(new Like(null, commentRepository.findById(UUID.fromString(reply1)).get(), author));
+        likeRepository.save(new Like(null, commentRepository.findById(UUID.fromString(nested)).get(), author));
+        likeIndex.rebuild();
+
+        commentService.deleteById(reply1);
+
+        CommentResponseDTO thread = commentService.getThread(root);
+        assertEquals(List.of("Reply2"), thread.getReplies().stream().map(CommentResponseDTO::getContent).toList());
+        assertEquals(1L, thread.getReplyCount());
+        assertEquals(2L, postRepository.findById(postId).get().getCommentCount());
+        assertEquals(2, commentRepository.count());
+        assertEquals(0, likeRepository.count());
+        assertEquals(0, likeIndex.countCommentLikes(UUID.fromString(reply1)));
+        assertEquals(0, likeIndex.countCommentLikes(UUID.fromString(nested)));
+    }
+
+    @Test
+    public void testIntegration_getCommentsPage_fillsRepliesAfterDeletes() throws AccessDeniedException {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+        Mockito.when(authentication.getName()).thenReturn("testUser");
+        SecurityContextHolder.setContext(securityContext);
+
+        String root = commentService.createComment(new CommentRequestDTO("Root", postId.toString()))
+                .getCommentId().toString();
+        String reply1 = reply(root, "Reply1");
+        String reply2 = reply(root, "Reply2");
+        reply(root, "Reply3");
+        reply(root, "Reply4");
+        reply(root, "Reply5");
+        commentService.deleteById(reply1);
+        commentService.deleteById(reply2);
+
+        PageResponseDTO<CommentResponseDTO> page = commentService.getCommentsPage(postId.toString(), null, 10, 2);
+
+        assertEquals(List.of("Reply3", "Reply4"),
+                page.getContent().get(0).getReplies().stream().map(CommentResponseDTO::getContent).toList());
+    }
+
+    private String reply(String parentId, String content) {
+        return commentService.createComment(new CommentRequestDTO(content, postId.toString(), parentId))
+                .getCommentId().toString();
+    }
+
     @Test
     public void testIntegration_findById_success() {
         Post post = postRepository.findById(postId).get();
@@ -204,6 +378,33 @@ class CommentServiceImplIntegrationTest {
         assertEquals("Comment with id : " + savedComment.getId() + " is deleted.",responseDTO.getMessage());
     }
 
+    @Test
+    public void testIntegration_createAndDeleteComment_keepsCommentCount() throws AccessDeniedException {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+        Mockito.when(authentication.getName()).thenReturn("testUser");
+        SecurityContextHolder.setContext(securityContext);
+
+        CommentResponseDTO first = commentService.createComment(new CommentRequestDTO("First", postId.toString()));
+        commentService.createComment(new CommentRequestDTO("Second", postId.toString()));
+        commentService.deleteById(first.getCommentId().toString());
+
+        assertEquals(1L, postRepository.findById(postId).get().getCommentCount());
+    }
+
+    @Test
+    public void testIntegration_repairCommentCounts_success() {
+        Post post = postRepository.findById(postId).get();
+        Author author = authorRepository.findById(authorId).get();
+        commentRepository.save(new Comment("Content", post, author));
+        commentRepository.save(new Comment("Content", post, author));
+
+        assertEquals(1, commentCountRepairJob.repairCommentCounts());
+        assertEquals(0, commentCountRepairJob.repairCommentCounts());
+        assertEquals(2L, postRepository.findById(postId).get().getCommentCount());
+    }
+
     @Test
     public void testIntegration_deleteById_accessDeniedException() {
         Post post = postRepository.findById(postId).get();
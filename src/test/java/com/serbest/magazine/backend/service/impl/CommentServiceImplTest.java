@@ -3,6 +3,7 @@ package com.serbest.magazine.backend.service.impl;
 import com.serbest.magazine.backend.dto.comment.CommentRequestDTO;
 import com.serbest.magazine.backend.dto.comment.CommentResponseDTO;
 import com.serbest.magazine.backend.dto.general.MessageResponseDTO;
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.entity.Author;
 import com.serbest.magazine.backend.entity.Comment;
 import com.serbest.magazine.backend.entity.Post;
@@ -11,8 +12,12 @@ import com.serbest.magazine.backend.exception.ResourceNotFoundException;
 import com.serbest.magazine.backend.mapper.CommentMapper;
 import com.serbest.magazine.backend.repository.AuthorRepository;
 import com.serbest.magazine.backend.repository.CommentRepository;
+import com.serbest.magazine.backend.repository.LikeRepository;
 import com.serbest.magazine.backend.repository.PostRepository;
 import com.serbest.magazine.backend.security.CheckAuthorization;
+import com.serbest.magazine.backend.service.HomePageService;
+import com.serbest.magazine.backend.service.LikeIndex;
+import com.serbest.magazine.backend.util.PageCursor;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -21,6 +26,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,11 +34,15 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,12 +60,21 @@ class CommentServiceImplTest {
     @Mock
     PostRepository postRepository;
 
+    @Mock
+    LikeRepository likeRepository;
+
     @Mock
     AuthorRepository authorRepository;
 
     @Mock
     CheckAuthorization checkAuthorization;
 
+    @Mock
+    HomePageService homePageService;
+
+    @Mock
+    LikeIndex likeIndex;
+
     @Test
     public void test_createComment_withSuccess() {
         UUID postId = UUID.randomUUID();
@@ -128,12 +147,81 @@ class CommentServiceImplTest {
         Comment comment1 = new Comment("TestContent1");
         Comment comment2 = new Comment("TestContent2");
 
-        when(commentRepository.findAll(postId)).thenReturn(List.of(comment1, comment2));
+        when(commentRepository.findNewestByPost(postId, PageRequest.of(0, PageCursor.MAX_PAGE_SIZE)))
+                .thenReturn(List.of(comment1, comment2));
         List<CommentResponseDTO> responseDTOS = commentService.getAllComments(postId.toString());
 
         assertEquals(responseDTOS.size(), 2);
     }
 
+    @Test
+    public void test_getCommentsPage_returnsCursorOfLastComment() {
+        UUID postId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        Comment comment1 = new Comment(UUID.randomUUID(), "TestContent1", null, null, now, now);
+        Comment comment2 = new Comment(UUID.randomUUID(), "TestContent2", null, null, now.minusMinutes(1), now);
+        Comment comment3 = new Comment(UUID.randomUUID(), "TestContent3", null, null, now.minusMinutes(2), now);
+
+        when(commentRepository.findRootPageByPost(postId, PageCursor.pageable(2)))
+                .thenReturn(List.of(comment1, comment2, comment3));
+        when(commentMapper.toThreads(eq(List.of(comment1, comment2)), anyMap(), anySet()))
+                .thenReturn(List.of(new CommentResponseDTO(), new CommentResponseDTO()));
+        PageResponseDTO<CommentResponseDTO> page = commentService.getCommentsPage(postId.toString(), null, 2, null);
+
+        assertEquals(2, page.getContent().size());
+        assertEquals(PageCursor.encode(comment2.getCreateDateTime(), comment2.getId()), page.getNext());
+    }
+
+    @Test
+    public void test_getCommentsPage_seeksAfterCursor() {
+        UUID postId = UUID.randomUUID();
+        UUID commentId = UUID.randomUUID();
+        LocalDateTime createDateTime = LocalDateTime.now();
+
+        Comment root = new Comment(UUID.randomUUID(), "TestContent1", null, null, createDateTime, createDateTime);
+        root.setReplyCount(4L);
+        Comment reply = new Comment(UUID.randomUUID(), "TestReply", null, null, createDateTime, createDateTime);
+
+        when(commentRepository.findRootPageByPostAfter(postId, createDateTime, commentId, PageCursor.pageable(10)))
+                .thenReturn(List.of(root));
+        when(commentRepository.findFirstReplies(List.of(root.getId()), 2)).thenReturn(List.of(reply));
+        // Nobody signed in.
+        SecurityContextHolder.clearContext();
+        when(likeIndex.likedCommentsAmong(null, List.of(root.getId(), reply.getId()))).thenReturn(Set.of());
+        when(likeIndex.countCommentLikes(root.getId())).thenReturn(3);
+        when(commentMapper.toThreads(List.of(root, reply), Map.of(root.getId(), 3, reply.getId(), 0), Set.of()))
+                .thenReturn(List.of(new CommentResponseDTO()));
+        PageResponseDTO<CommentResponseDTO> page = commentService.getCommentsPage(
+                postId.toString(), PageCursor.encode(createDateTime, commentId), null, 2);
+
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    public void test_createComment_replyToCommentOfAnotherPost() {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn("testUser");
+        SecurityContextHolder.setContext(securityContext);
+
+        Post post = Post.Builder.newBuilder().postId(UUID.randomUUID()).build();
+        Post otherPost = Post.Builder.newBuilder().postId(UUID.randomUUID()).build();
+        Comment parent = new Comment(UUID.randomUUID(), "Parent", otherPost, null, null, null);
+
+        when(authorRepository.findByUsernameOrEmail("testUser", "testUser")).thenReturn(Optional.of(new Author()));
+        when(postRepository.findById(post.getPostId())).thenReturn(Optional.of(post));
+        when(commentRepository.findById(parent.getId())).thenReturn(Optional.of(parent));
+
+        assertThrows(
+                CustomApplicationException.class,
+                () -> commentService.createComment(
+                        new CommentRequestDTO("TestContent", post.getPostId().toString(), parent.getId().toString()))
+        );
+        verify(commentRepository, never()).addReply(any());
+    }
+
     @Test
     @Tag("UnitTest, Needs revision on service method")
     public void test_findById_withSuccess() {
@@ -160,9 +248,12 @@ class CommentServiceImplTest {
     public void test_deleteById_withSuccess() throws AccessDeniedException {
 
         UUID commentId = UUID.randomUUID();
+        UUID postId = UUID.randomUUID();
         Comment mockComment = Mockito.mock(Comment.class);
+        Post post = Post.Builder.newBuilder().postId(postId).build();
 
         when(mockComment.getId()).thenReturn(commentId);
+        when(mockComment.getPost()).thenReturn(post);
         when(commentRepository.findById(commentId)).thenReturn(Optional.of(mockComment));
 
         MessageResponseDTO responseDTO = commentService.deleteById(commentId.toString());
@@ -171,6 +262,9 @@ class CommentServiceImplTest {
                 responseDTO.getMessage(),
                 "Comment with id : " + commentId + " is deleted."
         );
+        verify(postRepository).adjustCommentCount(postId, -1);
+        verify(likeIndex).commentsDeleted(List.of(commentId));
+        verify(homePageService).invalidate();
     }
 
     @Test
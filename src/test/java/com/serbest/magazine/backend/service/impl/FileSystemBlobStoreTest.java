@@ -0,0 +1,100 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.service.StoredBlob;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemBlobStoreTest {
+
+    // sha-256 of "hello"
+    private static final String HELLO_HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path root;
+
+    @Test
+    public void test_put_storesUnderShardedContentHash() throws IOException {
+        FileSystemBlobStore blobStore = new FileSystemBlobStore(root);
+
+        String hash = blobStore.put(stream("hello"));
+
+        assertEquals(HELLO_HASH, hash);
+        assertTrue(Files.exists(root.resolve("2c").resolve("f2").resolve(HELLO_HASH)));
+    }
+
+    @Test
+    public void test_put_deduplicatesSameContent() throws IOException {
+        FileSystemBlobStore blobStore = new FileSystemBlobStore(root);
+
+        String first = blobStore.put(stream("hello"));
+        Path file = blobStore.get(first).get().getFile();
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 86_400_000L * 2));
+        String second = blobStore.put(stream("hello"));
+
+        assertEquals(first, second);
+        // Stored again, so the grace period of the orphan cleanup starts over.
+        assertTrue(blobStore.get(second).get().getLastModified() > System.currentTimeMillis() - 60_000);
+        try (var files = Files.list(root.resolve("tmp"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void test_get_returnsStoredBytes() throws IOException {
+        FileSystemBlobStore blobStore = new FileSystemBlobStore(root);
+        String hash = blobStore.put(stream("hello"));
+
+        StoredBlob blob = blobStore.get(hash).get();
+
+        assertEquals(5, blob.getLength());
+        try (InputStream inputStream = blob.openStream()) {
+            assertEquals("hello", new String(inputStream.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void test_get_unknownOrInvalidHash() throws IOException {
+        FileSystemBlobStore blobStore = new FileSystemBlobStore(root);
+
+        assertTrue(blobStore.get(HELLO_HASH).isEmpty());
+        assertTrue(blobStore.get("../../etc/passwd").isEmpty());
+    }
+
+    @Test
+    public void test_delete_removesBlob() throws IOException {
+        FileSystemBlobStore blobStore = new FileSystemBlobStore(root);
+        String hash = blobStore.put(stream("hello"));
+
+        assertTrue(blobStore.delete(hash));
+        assertTrue(blobStore.get(hash).isEmpty());
+        assertFalse(blobStore.delete(hash));
+    }
+
+    @Test
+    public void test_hashes_listsStoredBlobs() throws IOException {
+        FileSystemBlobStore blobStore = new FileSystemBlobStore(root);
+        String first = blobStore.put(stream("hello"));
+        String second = blobStore.put(stream("world"));
+
+        try (Stream<String> hashes = blobStore.hashes()) {
+            assertEquals(Set.of(first, second), hashes.collect(Collectors.toSet()));
+        }
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII));
+    }
+}
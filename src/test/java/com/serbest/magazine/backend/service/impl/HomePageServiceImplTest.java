@@ -0,0 +1,86 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.dto.post.HomePageResponseDTO;
+import com.serbest.magazine.backend.dto.post.PostCardResponseDTO;
+import com.serbest.magazine.backend.mapper.PostMapper;
+import com.serbest.magazine.backend.repository.PostRepository;
+import com.serbest.magazine.backend.service.CategoryRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HomePageServiceImplTest {
+
+    @InjectMocks
+    HomePageServiceImpl homePageService;
+
+    @Mock
+    PostRepository postRepository;
+
+    @Spy
+    PostMapper postMapper = new PostMapper(mock(CategoryRegistry.class));
+
+    @Test
+    public void test_getHomePage_slicesSections() {
+        when(postRepository.findActivePage(PageRequest.of(0, 20))).thenReturn(cards(12));
+
+        HomePageResponseDTO homePage = homePageService.getHomePage();
+
+        assertEquals(5, homePage.getHero().size());
+        assertEquals(4, homePage.getTop().size());
+        assertEquals(3, homePage.getMain().size());
+        assertEquals("Title 0", homePage.getHero().get(0).getTitle());
+        assertEquals("Title 5", homePage.getTop().get(0).getTitle());
+        assertEquals("Title 9", homePage.getMain().get(0).getTitle());
+    }
+
+    @Test
+    public void test_getHomePage_fewerPostsThanSections() {
+        when(postRepository.findActivePage(PageRequest.of(0, 20))).thenReturn(cards(3));
+
+        HomePageResponseDTO homePage = homePageService.getHomePage();
+
+        assertEquals(3, homePage.getHero().size());
+        assertTrue(homePage.getTop().isEmpty());
+        assertTrue(homePage.getMain().isEmpty());
+    }
+
+    @Test
+    public void test_getHomePage_servedFromSnapshotUntilInvalidated() {
+        when(postRepository.findActivePage(PageRequest.of(0, 20))).thenReturn(cards(6), cards(7));
+
+        HomePageResponseDTO first = homePageService.getHomePage();
+        HomePageResponseDTO second = homePageService.getHomePage();
+        homePageService.invalidate();
+        HomePageResponseDTO third = homePageService.getHomePage();
+
+        assertSame(first, second);
+        assertEquals(1, first.getTop().size());
+        assertEquals(2, third.getTop().size());
+        verify(postRepository, times(2)).findActivePage(PageRequest.of(0, 20));
+    }
+
+    private List<PostCardResponseDTO> cards(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> PostCardResponseDTO.builder()
+                        .id(UUID.randomUUID())
+                        .title("Title " + i)
+                        .comments(0L)
+                        .createDateTime(LocalDateTime.now().minusMinutes(i))
+                        .build())
+                .toList();
+    }
+}
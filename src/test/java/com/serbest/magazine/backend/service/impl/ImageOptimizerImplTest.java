@@ -0,0 +1,140 @@
+package com.serbest.magazine.backend.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageOptimizerImplTest {
+
+    private static final long MAX_PIXELS = 40_000_000L;
+    private static final long TIMEOUT_MILLIS = 10_000L;
+
+    private ImageOptimizerImpl imageOptimizer;
+
+    @AfterEach
+    void tearDown() {
+        if (imageOptimizer != null) {
+            imageOptimizer.shutdown();
+        }
+    }
+
+    @Test
+    public void test_optimizeJpeg_recompressesAndStripsMetadata() throws IOException {
+        imageOptimizer = new ImageOptimizerImpl(true, 0.5f, 1, 4, MAX_PIXELS, TIMEOUT_MILLIS);
+        byte[] original = withOrientation(jpeg(200, 100, 1.0f), 1);
+
+        byte[] optimized = imageOptimizer.optimizeJpeg(original);
+
+        assertTrue(optimized.length < original.length);
+        assertFalse(new String(optimized, StandardCharsets.ISO_8859_1).contains("Exif"));
+        assertEquals(200, ImageIO.read(new ByteArrayInputStream(optimized)).getWidth());
+        assertEquals(1, imageOptimizer.getOptimizedCount());
+        assertEquals(original.length - optimized.length, imageOptimizer.getBytesSaved());
+    }
+
+    @Test
+    public void test_optimizeJpeg_appliesExifOrientation() throws IOException {
+        imageOptimizer = new ImageOptimizerImpl(true, 0.5f, 1, 4, MAX_PIXELS, TIMEOUT_MILLIS);
+        byte[] original = withOrientation(jpeg(200, 100, 1.0f), 6);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageOptimizer.optimizeJpeg(original)));
+
+        assertEquals(100, image.getWidth());
+        assertEquals(200, image.getHeight());
+    }
+
+    @Test
+    public void test_optimizeJpeg_keepsOriginalWhenNotSmaller() throws IOException {
+        imageOptimizer = new ImageOptimizerImpl(true, 1.0f, 1, 4, MAX_PIXELS, TIMEOUT_MILLIS);
+        byte[] original = jpeg(200, 100, 0.1f);
+
+        assertSame(original, imageOptimizer.optimizeJpeg(original));
+        assertEquals(1, imageOptimizer.getKeptCount());
+    }
+
+    @Test
+    public void test_optimizeJpeg_keepsUnreadableImage() {
+        imageOptimizer = new ImageOptimizerImpl(true, 0.5f, 1, 4, MAX_PIXELS, TIMEOUT_MILLIS);
+        byte[] original = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xD9};
+
+        assertSame(original, imageOptimizer.optimizeJpeg(original));
+    }
+
+    @Test
+    public void test_optimizeJpeg_keepsImageOverPixelLimitWithoutDecoding() throws IOException {
+        imageOptimizer = new ImageOptimizerImpl(true, 0.5f, 1, 4, 200 * 100 - 1, TIMEOUT_MILLIS);
+        byte[] original = jpeg(200, 100, 1.0f);
+
+        assertSame(original, imageOptimizer.optimizeJpeg(original));
+        assertEquals(1, imageOptimizer.getTooLargeCount());
+        assertEquals(0, imageOptimizer.getKeptCount());
+    }
+
+    @Test
+    public void test_optimizeJpeg_keepsOriginalWhenTimedOut() throws IOException {
+        imageOptimizer = new ImageOptimizerImpl(true, 0.5f, 1, 4, MAX_PIXELS, 1);
+        byte[] original = jpeg(2000, 2000, 1.0f);
+
+        assertSame(original, imageOptimizer.optimizeJpeg(original));
+        assertEquals(1, imageOptimizer.getKeptCount());
+        assertEquals(0, imageOptimizer.getOptimizedCount());
+    }
+
+    @Test
+    public void test_readOrientation() throws IOException {
+        assertEquals(8, ImageOptimizerImpl.readOrientation(withOrientation(jpeg(20, 10, 0.5f), 8)));
+        assertEquals(1, ImageOptimizerImpl.readOrientation(jpeg(20, 10, 0.5f)));
+    }
+
+    private static byte[] jpeg(int width, int height, float quality) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(outputStream)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+
+    // Inserts a big-endian EXIF block with only the orientation tag right after the start-of-image marker.
+    private static byte[] withOrientation(byte[] jpeg, int orientation) {
+        byte[] exif = {
+                (byte) 0xFF, (byte) 0xE1, 0, 34,
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1,
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+                0, 0, 0, 0
+        };
+        byte[] result = new byte[jpeg.length + exif.length];
+        System.arraycopy(jpeg, 0, result, 0, 2);
+        System.arraycopy(exif, 0, result, 2, exif.length);
+        System.arraycopy(jpeg, 2, result, 2 + exif.length, jpeg.length - 2);
+        return result;
+    }
+}
@@ -0,0 +1,155 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.service.ImageModelService;
+import com.serbest.magazine.backend.service.StoredBlob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ImageVariantServiceImplTest {
+
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    @TempDir
+    Path root;
+
+    ImageModelService imageModelService = mock(ImageModelService.class);
+
+    ImageVariantServiceImpl imageVariantService;
+
+    @BeforeEach
+    void setUp() {
+        when(imageModelService.getBlob(anyString()))
+                .thenAnswer(invocation -> StoredBlob.of(root.resolve((String) invocation.getArgument(0))));
+        when(imageModelService.getVariantDirectory()).thenReturn(root.resolve("variants"));
+        imageVariantService = new ImageVariantServiceImpl(imageModelService, new int[]{160, 480}, 10, MAX_PIXELS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageVariantService.shutdown();
+    }
+
+    @Test
+    public void test_imageUploaded_returnsDimensions() throws IOException {
+        // Narrower than every variant, so nothing is generated in the background.
+        writeImage("image1.png", 150, 75);
+
+        Dimension size = imageVariantService.imageUploaded("image1.png");
+
+        assertEquals(new Dimension(150, 75), size);
+    }
+
+    @Test
+    public void test_imageUploaded_unreadableFile() throws IOException {
+        Files.writeString(root.resolve("notes1.txt"), "not an image");
+
+        assertNull(imageVariantService.imageUploaded("notes1.txt"));
+    }
+
+    @Test
+    public void test_getVariant_scalesToNextConfiguredWidth() throws IOException {
+        writeImage("image1.jpg", 600, 300);
+
+        StoredBlob variant = imageVariantService.getVariant("image1.jpg", 200);
+        BufferedImage image = ImageIO.read(variant.getFile().toFile());
+
+        assertEquals(root.resolve("variants").resolve("480").resolve("im").resolve("image1.jpg"), variant.getFile());
+        assertEquals(480, image.getWidth());
+        assertEquals(240, image.getHeight());
+        assertEquals(variant.getFile(), imageVariantService.getVariant("image1.jpg", 480).getFile());
+    }
+
+    @Test
+    public void test_getVariant_keepsSmallerOriginal() throws IOException {
+        writeImage("image1.png", 100, 50);
+
+        StoredBlob variant = imageVariantService.getVariant("image1.png", 160);
+
+        assertEquals(100, ImageIO.read(variant.getFile().toFile()).getWidth());
+        assertEquals(Files.size(root.resolve("image1.png")), variant.getLength());
+    }
+
+    @Test
+    public void test_getVariant_keepsOriginalOverPixelLimit() throws IOException {
+        imageVariantService.shutdown();
+        imageVariantService = new ImageVariantServiceImpl(imageModelService, new int[]{160, 480}, 10, 600 * 300 - 1);
+        writeImage("image1.jpg", 600, 300);
+
+        StoredBlob variant = imageVariantService.getVariant("image1.jpg", 200);
+
+        assertEquals(Files.size(root.resolve("image1.jpg")), variant.getLength());
+        assertNull(imageVariantService.createPlaceholder("image1.jpg"));
+    }
+
+    @Test
+    public void test_createPlaceholder_returnsTinyPreview() throws IOException {
+        writeImage("image1.jpg", 600, 300);
+
+        String placeholder = imageVariantService.createPlaceholder("image1.jpg");
+        byte[] png = Base64.getDecoder().decode(placeholder.substring("data:image/png;base64,".length()));
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+
+        assertTrue(placeholder.startsWith("data:image/png;base64,"));
+        assertTrue(placeholder.length() <= 512);
+        assertEquals(4, image.getWidth());
+        assertEquals(2, image.getHeight());
+    }
+
+    @Test
+    public void test_createPlaceholder_scalesFromSmallestVariant() throws IOException {
+        writeImage("image1.jpg", 600, 300);
+
+        assertNotNull(imageVariantService.createPlaceholder("image1.jpg"));
+
+        Path variant = root.resolve("variants").resolve("160").resolve("im").resolve("image1.jpg");
+        assertEquals(160, ImageIO.read(variant.toFile()).getWidth());
+    }
+
+    @Test
+    public void test_createPlaceholder_smallImageHasNoVariant() throws IOException {
+        writeImage("image1.png", 100, 50);
+
+        assertNotNull(imageVariantService.createPlaceholder("image1.png"));
+
+        assertFalse(Files.exists(root.resolve("variants")));
+    }
+
+    @Test
+    public void test_createPlaceholder_unreadableFile() throws IOException {
+        Files.writeString(root.resolve("notes1.txt"), "not an image");
+
+        assertNull(imageVariantService.createPlaceholder("notes1.txt"));
+    }
+
+    @Test
+    public void test_queuePlaceholder_handsPlaceholderToCallback() throws Exception {
+        writeImage("image1.jpg", 600, 300);
+        CompletableFuture<String> ready = new CompletableFuture<>();
+
+        imageVariantService.queuePlaceholder("image1.jpg", ready::complete);
+
+        assertTrue(ready.get(5, TimeUnit.SECONDS).startsWith("data:image/png;base64,"));
+    }
+
+    private void writeImage(String filename, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        String format = filename.endsWith(".png") ? "png" : "jpg";
+        ImageIO.write(image, format, root.resolve(filename).toFile());
+    }
+}
@@ -4,13 +4,16 @@ import com.serbest.magazine.backend.dto.like.LikeRequestDTO;
 import com.serbest.magazine.backend.dto.like.LikeResponseDTO;
 import com.serbest.magazine.backend.entity.*;
 import com.serbest.magazine.backend.exception.CustomApplicationException;
+import com.serbest.magazine.backend.exception.ResourceNotFoundException;
 import com.serbest.magazine.backend.repository.*;
 import com.serbest.magazine.backend.service.CommentService;
+import com.serbest.magazine.backend.service.LikeIndex;
 import com.serbest.magazine.backend.service.LikeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.core.Authentication;
@@ -47,6 +50,9 @@ class LikeServiceImplIntegrationTest {
     @Autowired
     AuthorRepository authorRepository;
 
+    @Autowired
+    LikeIndex likeIndex;
+
     UUID authorId;
 
     UUID postId;
@@ -108,6 +114,85 @@ class LikeServiceImplIntegrationTest {
         LikeResponseDTO responseDTO = likeService.like(requestDTO);
 
         assertNotNull(responseDTO.getLikeId());
+        assertTrue(responseDTO.getLiked());
+        assertEquals(1L, responseDTO.getLikeCount());
+    }
+
+    @Test
+    public void testIntegration_like_togglesCommentLike() throws AccessDeniedException {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+        Mockito.when(authentication.getName()).thenReturn("testUser");
+        SecurityContextHolder.setContext(securityContext);
+
+        LikeRequestDTO requestDTO = new LikeRequestDTO(null, this.commentId.toString());
+
+        assertTrue(likeService.like(requestDTO).getLiked());
+        LikeResponseDTO responseDTO = likeService.like(requestDTO);
+
+        assertFalse(responseDTO.getLiked());
+        assertEquals(0L, responseDTO.getLikeCount());
+        assertEquals(0, likeRepository.count());
+    }
+
+    @Test
+    public void testIntegration_likedPosts_followsToggles() throws AccessDeniedException {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+        Mockito.when(authentication.getName()).thenReturn("testUser");
+        SecurityContextHolder.setContext(securityContext);
+
+        List<String> postIds = List.of(this.postId.toString(), UUID.randomUUID().toString());
+        likeService.like(new LikeRequestDTO(this.postId.toString(), null));
+
+        assertEquals(List.of(this.postId.toString()), likeService.likedPosts(postIds));
+
+        likeService.like(new LikeRequestDTO(this.postId.toString(), null));
+
+        assertEquals(List.of(), likeService.likedPosts(postIds));
+        assertEquals(0, likeIndex.countPostLikes(this.postId));
+    }
+
+    @Test
+    public void testIntegration_rebuild_readsPostAndCommentLikes() {
+        Author author = authorRepository.findById(authorId).get();
+        likeRepository.save(new Like(postRepository.findById(postId).get(), null, author));
+        likeRepository.save(new Like(null, commentRepository.findById(commentId).get(), author));
+
+        likeIndex.rebuild();
+
+        assertEquals(1, likeIndex.countPostLikes(postId));
+        assertEquals(1, likeIndex.countCommentLikes(commentId));
+        assertTrue(likeIndex.hasLikedPost(authorId, postId));
+        assertTrue(likeIndex.hasLikedComment(authorId, commentId));
+        assertFalse(likeIndex.hasLikedPost(UUID.randomUUID(), postId));
+    }
+
+    @Test
+    public void testIntegration_like_unknownPost() {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+        Mockito.when(authentication.getName()).thenReturn("testUser");
+        SecurityContextHolder.setContext(securityContext);
+
+        assertThrows(
+                ResourceNotFoundException.class,
+                () -> likeService.like(new LikeRequestDTO(UUID.randomUUID().toString(), null))
+        );
+    }
+
+    @Test
+    public void testIntegration_insertPostLike_rejectsDuplicate() {
+        likeRepository.insertPostLike(UUID.randomUUID(), postId, authorId);
+
+        assertThrows(
+                DataIntegrityViolationException.class,
+                () -> likeRepository.insertPostLike(UUID.randomUUID(), postId, authorId)
+        );
+        assertEquals(1L, likeRepository.count());
     }
 
     @Tag("NeedCoalesce")
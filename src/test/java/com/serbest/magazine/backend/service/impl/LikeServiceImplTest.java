@@ -2,22 +2,18 @@ package com.serbest.magazine.backend.service.impl;
 
 import com.serbest.magazine.backend.dto.like.LikeRequestDTO;
 import com.serbest.magazine.backend.dto.like.LikeResponseDTO;
-import com.serbest.magazine.backend.entity.Author;
-import com.serbest.magazine.backend.entity.Comment;
-import com.serbest.magazine.backend.entity.Like;
-import com.serbest.magazine.backend.entity.Post;
 import com.serbest.magazine.backend.exception.CustomApplicationException;
 import com.serbest.magazine.backend.exception.ResourceNotFoundException;
 import com.serbest.magazine.backend.repository.AuthorRepository;
-import com.serbest.magazine.backend.repository.CommentRepository;
 import com.serbest.magazine.backend.repository.LikeRepository;
-import com.serbest.magazine.backend.repository.PostRepository;
+import com.serbest.magazine.backend.service.LikeIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,9 +22,18 @@ import java.nio.file.AccessDeniedException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,10 +49,7 @@ class LikeServiceImplTest {
     AuthorRepository authorRepository;
 
     @Mock
-    PostRepository postRepository;
-
-    @Mock
-    CommentRepository commentRepository;
+    LikeIndex likeIndex;
 
     @Test
     public void test_like_withSuccess() throws AccessDeniedException {
@@ -58,25 +60,118 @@ class LikeServiceImplTest {
         Mockito.when(authentication.getName()).thenReturn("testUser");
         SecurityContextHolder.setContext(securityContext);
 
-        UUID likeId = UUID.randomUUID();
+        UUID authorId = UUID.randomUUID();
         UUID postId = UUID.randomUUID();
 
-        Author authorMock = mock(Author.class);
-        Post postMock = mock(Post.class);
-        Like likeMock = mock(Like.class);
-
         LikeRequestDTO requestDTO = new LikeRequestDTO(postId.toString(), null);
 
-        when(authorRepository.findByUsernameOrEmail("testUser", "testUser")).thenReturn(Optional.of(authorMock));
-        when(postRepository.findById(postId)).thenReturn(Optional.of(postMock));
-        when(likeMock.getId()).thenReturn(likeId);
-
-        when(likeRepository.save(any(Like.class))).thenReturn(likeMock);
+        when(authorRepository.findIdByUsernameOrEmail("testUser")).thenReturn(Optional.of(authorId));
+        when(likeRepository.insertPostLike(any(UUID.class), eq(postId), eq(authorId))).thenReturn(1);
+        when(likeIndex.countPostLikes(postId)).thenReturn(1);
 
         LikeResponseDTO responseDTO = likeService.like(requestDTO);
 
         assertNotNull(responseDTO.getLikeId());
+        assertTrue(responseDTO.getLiked());
+        assertEquals(1L, responseDTO.getLikeCount());
+    }
+
+    @Test
+    public void test_like_removesExistingLike() throws AccessDeniedException {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+        Mockito.when(authentication.getName()).thenReturn("testUser");
+        SecurityContextHolder.setContext(securityContext);
+
+        UUID authorId = UUID.randomUUID();
+        UUID commentId = UUID.randomUUID();
+
+        when(authorRepository.findIdByUsernameOrEmail("testUser")).thenReturn(Optional.of(authorId));
+        when(likeRepository.deleteByCommentAndAuthor(commentId, authorId)).thenReturn(1);
+        when(likeIndex.countCommentLikes(commentId)).thenReturn(4);
+
+        LikeResponseDTO responseDTO = likeService.like(new LikeRequestDTO(null, commentId.toString()));
+
+        assertNull(responseDTO.getLikeId());
+        assertFalse(responseDTO.getLiked());
+        assertEquals(4L, responseDTO.getLikeCount());
+        verify(likeRepository, never()).insertCommentLike(any(), any(), any());
+        verify(likeIndex).commentLikeChanged(authorId, commentId, false);
+    }
+
+    @Test
+    public void test_like_concurrentInsertStaysLiked() throws AccessDeniedException {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+        Mockito.when(authentication.getName()).thenReturn("testUser");
+        SecurityContextHolder.setContext(securityContext);
+
+        UUID authorId = UUID.randomUUID();
+        UUID postId = UUID.randomUUID();
+
+        when(authorRepository.findIdByUsernameOrEmail("testUser")).thenReturn(Optional.of(authorId));
+        when(likeRepository.insertPostLike(any(UUID.class), eq(postId), eq(authorId)))
+                .thenThrow(new DataIntegrityViolationException("uk_likes_post_author"));
+        when(likeIndex.countPostLikes(postId)).thenReturn(1);
+
+        LikeResponseDTO responseDTO = likeService.like(new LikeRequestDTO(postId.toString(), null));
 
+        assertTrue(responseDTO.getLiked());
+        assertEquals(1L, responseDTO.getLikeCount());
+    }
+
+    @Test
+    public void test_like_concurrentTogglesReachIndexInDatabaseOrder() throws Exception {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+        Mockito.when(authentication.getName()).thenReturn("testUser");
+
+        UUID authorId = UUID.randomUUID();
+        UUID postId = UUID.randomUUID();
+        AtomicBoolean likedInDatabase = new AtomicBoolean();
+        AtomicBoolean likedInIndex = new AtomicBoolean();
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(authorRepository.findIdByUsernameOrEmail("testUser")).thenReturn(Optional.of(authorId));
+        when(likeRepository.deleteByPostAndAuthor(postId, authorId))
+                .thenAnswer(invocation -> likedInDatabase.compareAndSet(true, false) ? 1 : 0);
+        when(likeRepository.insertPostLike(any(UUID.class), eq(postId), eq(authorId))).thenAnswer(invocation -> {
+            likedInDatabase.set(true);
+            inserting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        doAnswer(invocation -> {
+            likedInIndex.set(invocation.getArgument(2));
+            return null;
+        }).when(likeIndex).postLikeChanged(eq(authorId), eq(postId), anyBoolean());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<LikeResponseDTO> toggle = () -> {
+                SecurityContextHolder.setContext(securityContext);
+                return likeService.like(new LikeRequestDTO(postId.toString(), null));
+            };
+            Future<LikeResponseDTO> first = executor.submit(toggle);
+            assertTrue(inserting.await(5, TimeUnit.SECONDS));
+            Future<LikeResponseDTO> second = executor.submit(toggle);
+            Thread.sleep(100);
+
+            // The second click waits until the first one has updated the index.
+            verify(likeRepository, times(1)).deleteByPostAndAuthor(postId, authorId);
+            release.countDown();
+
+            assertTrue(first.get(5, TimeUnit.SECONDS).getLiked());
+            assertFalse(second.get(5, TimeUnit.SECONDS).getLiked());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(likedInDatabase.get());
+        assertFalse(likedInIndex.get());
     }
 
     @Test
@@ -108,10 +203,9 @@ class LikeServiceImplTest {
 
         UUID postId = UUID.randomUUID();
 
-        Author authorMock = mock(Author.class);
         LikeRequestDTO requestDTO = new LikeRequestDTO(postId.toString(), null);
 
-        when(authorRepository.findByUsernameOrEmail("testUser", "testUser")).thenReturn(Optional.of(authorMock));
+        when(authorRepository.findIdByUsernameOrEmail("testUser")).thenReturn(Optional.of(UUID.randomUUID()));
         assertThrows(
                 ResourceNotFoundException.class,
                 () -> likeService.like(requestDTO)
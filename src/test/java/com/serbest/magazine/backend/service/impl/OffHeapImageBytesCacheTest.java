@@ -0,0 +1,106 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.service.StoredBlob;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapImageBytesCacheTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    public void test_offer_admitsOnlyAfterRepeatedRequests() throws IOException {
+        OffHeapImageBytesCache cache = new OffHeapImageBytesCache(100, 100, 2);
+        StoredBlob blob = blob("a", "0123456789");
+
+        assertNull(cache.get("a"));
+        assertSame(blob, cache.offer("a", blob));
+        assertNull(cache.get("a"));
+        StoredBlob cached = cache.offer("a", blob);
+
+        assertNotSame(blob, cached);
+        assertTrue(cached.getContent().isDirect());
+        assertEquals("0123456789", read(cached));
+        assertSame(cached, cache.get("a"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getRejectionCount());
+        assertEquals(10, cache.getUsedBytes());
+    }
+
+    @Test
+    public void test_offer_evictsLeastRecentlyUsed() throws IOException {
+        OffHeapImageBytesCache cache = new OffHeapImageBytesCache(20, 20, 1);
+        admit(cache, "a", "aaaaaaaaaa");
+        admit(cache, "b", "bbbbbbbbbb");
+        cache.get("a");
+
+        admit(cache, "c", "cccccccccc");
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(20, cache.getUsedBytes());
+    }
+
+    @Test
+    public void test_offer_keepsMoreFrequentEntries() throws IOException {
+        OffHeapImageBytesCache cache = new OffHeapImageBytesCache(10, 10, 1);
+        admit(cache, "a", "aaaaaaaaaa");
+        cache.get("a");
+        cache.get("a");
+
+        StoredBlob blob = blob("b", "bbbbbbbbbb");
+        cache.get("b");
+
+        assertSame(blob, cache.offer("b", blob));
+        assertNotNull(cache.get("a"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void test_offer_rejectsOversizedBlob() throws IOException {
+        OffHeapImageBytesCache cache = new OffHeapImageBytesCache(100, 5, 1);
+        StoredBlob blob = blob("a", "0123456789");
+        cache.get("a");
+
+        assertSame(blob, cache.offer("a", blob));
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void test_invalidate_removesEntry() throws IOException {
+        OffHeapImageBytesCache cache = new OffHeapImageBytesCache(100, 100, 1);
+        admit(cache, "a", "0123456789");
+
+        cache.invalidate("a");
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    private void admit(OffHeapImageBytesCache cache, String key, String content) throws IOException {
+        cache.get(key);
+        cache.offer(key, blob(key, content));
+    }
+
+    private StoredBlob blob(String name, String content) throws IOException {
+        return StoredBlob.of(Files.writeString(root.resolve(name), content, StandardCharsets.US_ASCII));
+    }
+
+    private static String read(StoredBlob blob) throws IOException {
+        try (InputStream inputStream = blob.openStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.service.StoredBlob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackFileBlobStoreTest {
+
+    // sha-256 of "hello"
+    private static final String HELLO_HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path root;
+
+    private final List<PackFileBlobStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (PackFileBlobStore store : stores) {
+            store.close();
+        }
+    }
+
+    @Test
+    public void test_put_appendsToSegmentAndReadsMappedBytes() throws IOException {
+        PackFileBlobStore blobStore = open(1024);
+
+        String hash = blobStore.put(stream("hello"));
+        StoredBlob blob = blobStore.get(hash).get();
+
+        assertEquals(HELLO_HASH, hash);
+        assertEquals(root.resolve("segment-000001.pack"), blob.getFile());
+        assertEquals(5, blob.getLength());
+        assertEquals("hello", read(blob));
+        assertEquals(5, blob.getContent().remaining());
+    }
+
+    @Test
+    public void test_put_deduplicatesSameContent() throws IOException {
+        PackFileBlobStore blobStore = open(1024);
+
+        String hash = blobStore.put(stream("hello"));
+        long size = Files.size(root.resolve("segment-000001.pack"));
+        long storedAt = blobStore.get(hash).get().getLastModified();
+        sleepPastMillisecond();
+        blobStore.put(stream("hello"));
+
+        assertEquals(size, Files.size(root.resolve("segment-000001.pack")));
+        assertEquals(1, blobStore.getBlobCount());
+        // Stored again, so the grace period of the orphan cleanup starts over.
+        assertTrue(blobStore.get(hash).get().getLastModified() > storedAt);
+    }
+
+    @Test
+    public void test_put_rollsOverToNewSegment() throws IOException {
+        PackFileBlobStore blobStore = open(100);
+
+        String first = blobStore.put(stream("first blob"));
+        String second = blobStore.put(stream("second blob"));
+
+        assertEquals(2, blobStore.getSegmentCount());
+        assertEquals("first blob", read(blobStore.get(first).get()));
+        assertEquals("second blob", read(blobStore.get(second).get()));
+    }
+
+    @Test
+    public void test_get_remapsGrowingSegmentOnlyAFewTimes() throws IOException {
+        PackFileBlobStore blobStore = open(8 << 20);
+        byte[] content = new byte[16 * 1024];
+
+        for (int i = 0; i < 300; i++) {
+            content[0] = (byte) i;
+            content[1] = (byte) (i >> 8);
+            String hash = blobStore.put(new ByteArrayInputStream(content));
+            assertEquals(content.length, blobStore.get(hash).get().getContent().remaining());
+        }
+
+        // 1, 2, 4 and 8 MB.
+        assertTrue(blobStore.getMappingCount() <= 4, "mapped " + blobStore.getMappingCount() + " times");
+        blobStore.close();
+        assertEquals(300 * (52 + content.length), Files.size(root.resolve("segment-000001.pack")));
+    }
+
+    @Test
+    public void test_get_unknownOrInvalidHash() throws IOException {
+        PackFileBlobStore blobStore = open(1024);
+
+        assertTrue(blobStore.get(HELLO_HASH).isEmpty());
+        assertTrue(blobStore.get("../../etc/passwd").isEmpty());
+    }
+
+    @Test
+    public void test_delete_removesBlob() throws IOException {
+        PackFileBlobStore blobStore = open(1024);
+        String hash = blobStore.put(stream("hello"));
+
+        assertTrue(blobStore.delete(hash));
+        assertTrue(blobStore.get(hash).isEmpty());
+        assertFalse(blobStore.delete(hash));
+    }
+
+    @Test
+    public void test_open_rebuildsIndexFromSegments() throws IOException {
+        PackFileBlobStore blobStore = open(100);
+        String kept = blobStore.put(stream("kept blob"));
+        String deleted = blobStore.put(stream("deleted blob"));
+        blobStore.delete(deleted);
+        blobStore.close();
+
+        PackFileBlobStore reopened = open(100);
+
+        assertEquals(1, reopened.getBlobCount());
+        assertEquals("kept blob", read(reopened.get(kept).get()));
+        assertTrue(reopened.get(deleted).isEmpty());
+    }
+
+    @Test
+    public void test_open_truncatesUnfinishedWrite() throws IOException {
+        PackFileBlobStore blobStore = open(1024);
+        String hash = blobStore.put(stream("hello"));
+        blobStore.close();
+        Path segment = root.resolve("segment-000001.pack");
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x4D, 0x47}));
+        }
+
+        PackFileBlobStore reopened = open(1024);
+        String other = reopened.put(stream("other"));
+
+        assertEquals(size + 52, reopened.get(other).get().getOffset());
+        assertEquals("hello", read(reopened.get(hash).get()));
+        assertEquals("other", read(reopened.get(other).get()));
+    }
+
+    @Test
+    public void test_compact_copiesLiveBlobsAndRemovesSegments() throws IOException {
+        PackFileBlobStore blobStore = open(100);
+        String kept = blobStore.put(stream("kept blob"));
+        String deleted = blobStore.put(stream("deleted blob"));
+        blobStore.put(stream("active blob"));
+        blobStore.delete(deleted);
+
+        long reclaimed = blobStore.compact();
+
+        assertTrue(reclaimed > 0);
+        assertEquals("kept blob", read(blobStore.get(kept).get()));
+        assertNotEquals(root.resolve("segment-000001.pack"), blobStore.get(kept).get().getFile());
+
+        blobStore.compact();
+
+        assertFalse(Files.exists(root.resolve("segment-000001.pack")));
+        assertFalse(Files.exists(root.resolve("segment-000002.pack")));
+        blobStore.close();
+
+        PackFileBlobStore reopened = open(100);
+        assertEquals(2, reopened.getBlobCount());
+        assertEquals("kept blob", read(reopened.get(kept).get()));
+        assertTrue(reopened.get(deleted).isEmpty());
+    }
+
+    private PackFileBlobStore open(long segmentSize) throws IOException {
+        PackFileBlobStore blobStore = new PackFileBlobStore(root, segmentSize, 0.3);
+        stores.add(blobStore);
+        return blobStore;
+    }
+
+    private static void sleepPastMillisecond() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String read(StoredBlob blob) throws IOException {
+        try (InputStream inputStream = blob.openStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -2,6 +2,7 @@ package com.serbest.magazine.backend.service.impl;
 
 import com.serbest.magazine.backend.dto.comment.CommentRequestDTO;
 import com.serbest.magazine.backend.dto.comment.CommentResponseDTO;
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.dto.post.*;
 import com.serbest.magazine.backend.entity.Author;
 import com.serbest.magazine.backend.entity.Category;
@@ -28,6 +29,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.AccessDeniedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -292,7 +294,7 @@ class PostServiceImplIntegrationTest {
     @Test
     public void testIntegration_getPostsByCategory_success() {
 
-        List<PostResponseDTO> responseDTOS = postService.getPostsByCategory("Siyaset");
+        List<PostCardResponseDTO> responseDTOS = postService.getPostsByCategory("Siyaset");
 
         assertEquals(responseDTOS.size(), 1);
         assertEquals(responseDTOS.get(0).getTitle(), "Test Title");
@@ -310,7 +312,7 @@ class PostServiceImplIntegrationTest {
     @Test
     public void testIntegration_findByUsername_success() {
 
-        List<PostResponseDTO> responseDTOS = postService.findByUsername("testUser");
+        List<PostCardResponseDTO> responseDTOS = postService.findByUsername("testUser");
 
         assertEquals(responseDTOS.size(), 1);
         assertEquals(responseDTOS.get(0).getTitle(), "Test Title");
@@ -324,6 +326,19 @@ class PostServiceImplIntegrationTest {
         assertEquals(responseDTOS, 1);
     }
 
+    @Test
+    public void testIntegration_countsByCategoryName_followsActivation() {
+        assertEquals(postService.countsByCategoryName("Siyaset"), 1);
+
+        Post inactivePost = postRepository.findAll().stream()
+                .filter(post -> !post.getActive())
+                .findFirst()
+                .get();
+        postService.activatePost(inactivePost.getPostId().toString());
+
+        assertEquals(postService.countsByCategoryName("Siyaset"), 2);
+    }
+
     @Nested
     class AuthBefore {
         @BeforeEach
@@ -386,10 +401,13 @@ class PostServiceImplIntegrationTest {
         @Test
         public void testIntegration_getAllPosts_success() {
 
-            List<PostResponseDTO> responseDTOS = postService.getAllPosts();
+            List<PostCardResponseDTO> responseDTOS = postService.getAllPosts();
 
             assertEquals(responseDTOS.size(), 1);
-            assertEquals(responseDTOS.get(0).getContent(), "Test Content");
+            assertEquals(responseDTOS.get(0).getTitle(), "Test Title");
+            assertEquals(responseDTOS.get(0).getCategory(), "Siyaset");
+            assertEquals(responseDTOS.get(0).getUsername(), "testUser");
+            assertEquals(responseDTOS.get(0).getComments(), 0L);
         }
 
         @Test
@@ -524,10 +542,61 @@ class PostServiceImplIntegrationTest {
             assertEquals(responseDTOS.get(0).getTitle(), "Test Title");
         }
 
+        @Test
+        public void testIntegration_getHomePage_success() {
+
+            HomePageResponseDTO homePage = postService.getHomePage();
+
+            assertEquals(homePage.getHero().size(), 5);
+            assertEquals(homePage.getTop().size(), 4);
+            assertEquals(homePage.getMain().size(), 2);
+            assertEquals(homePage.getMain().get(0).getCategory(), "Siyaset");
+        }
+
+        @Test
+        public void testIntegration_getHomePage_rebuiltAfterDeactivation() throws AccessDeniedException {
+            Authentication authentication = Mockito.mock(Authentication.class);
+            SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+            Mockito.when(securityContext.getAuthentication()).thenReturn(authentication);
+            Mockito.when(authentication.getName()).thenReturn("testUser");
+            SecurityContextHolder.setContext(securityContext);
+
+            assertEquals(postService.getHomePage().getMain().size(), 2);
+
+            postService.deactivatePost(postId.toString());
+
+            assertEquals(postService.getHomePage().getMain().size(), 1);
+        }
+
+        @Test
+        public void testIntegration_getPostsPage_walksEveryActivePostOnce() {
+            PageResponseDTO<PostCardResponseDTO> firstPage = postService.getPostsPage(null, 4);
+            PageResponseDTO<PostCardResponseDTO> secondPage = postService.getPostsPage(firstPage.getNext(), 4);
+            PageResponseDTO<PostCardResponseDTO> lastPage = postService.getPostsPage(secondPage.getNext(), 4);
+
+            assertEquals(4, firstPage.getContent().size());
+            assertEquals(4, secondPage.getContent().size());
+            assertEquals(3, lastPage.getContent().size());
+            assertNull(lastPage.getNext());
+            assertEquals(11, java.util.stream.Stream.of(firstPage, secondPage, lastPage)
+                    .flatMap(page -> page.getContent().stream())
+                    .map(PostCardResponseDTO::getId)
+                    .distinct()
+                    .count());
+        }
+
+        @Test
+        public void testIntegration_getPostsByCategoryPage_success() {
+            PageResponseDTO<PostCardResponseDTO> page = postService.getPostsByCategoryPage("Siyaset", null, 20);
+
+            assertEquals(11, page.getContent().size());
+            assertNull(page.getNext());
+        }
+
         @Test
         public void testIntegration_getRandomThreePost_success() {
 
-            List<PostResponseDTO> responseDTOS = postService.getRandomThreePost();
+            List<PostCardResponseDTO> responseDTOS = postService.getRandomThreePost();
 
             assertEquals(responseDTOS.size(), 3);
             assertEquals(responseDTOS.get(0).getTitle(), "Test Title");
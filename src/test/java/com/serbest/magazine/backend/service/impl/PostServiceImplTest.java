@@ -1,5 +1,6 @@
 package com.serbest.magazine.backend.service.impl;
 
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
 import com.serbest.magazine.backend.dto.post.*;
 import com.serbest.magazine.backend.entity.Author;
 import com.serbest.magazine.backend.entity.Category;
@@ -7,10 +8,15 @@ import com.serbest.magazine.backend.entity.Post;
 import com.serbest.magazine.backend.exception.ResourceNotFoundException;
 import com.serbest.magazine.backend.mapper.PostMapper;
 import com.serbest.magazine.backend.repository.AuthorRepository;
-import com.serbest.magazine.backend.repository.CategoryRepository;
 import com.serbest.magazine.backend.repository.PostRepository;
 import com.serbest.magazine.backend.security.CheckAuthorization;
+import com.serbest.magazine.backend.service.CategoryPostCountService;
+import com.serbest.magazine.backend.service.CategoryRegistry;
+import com.serbest.magazine.backend.service.HomePageService;
 import com.serbest.magazine.backend.service.ImageModelService;
+import com.serbest.magazine.backend.service.ImageVariantService;
+import com.serbest.magazine.backend.service.RandomPostService;
+import com.serbest.magazine.backend.util.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -29,6 +35,7 @@ import java.nio.file.AccessDeniedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -43,7 +50,7 @@ class PostServiceImplTest {
     PostServiceImpl postService;
 
     @Mock
-    CategoryRepository categoryRepository;
+    CategoryRegistry categoryRegistry;
 
     @Mock
     PostRepository postRepository;
@@ -54,12 +61,24 @@ class PostServiceImplTest {
     @Mock
     ImageModelService imageModelService;
 
+    @Mock
+    ImageVariantService imageVariantService;
+
     @Mock
     PostMapper postMapper;
 
     @Mock
     CheckAuthorization checkAuthorization;
 
+    @Mock
+    HomePageService homePageService;
+
+    @Mock
+    RandomPostService randomPostService;
+
+    @Mock
+    CategoryPostCountService categoryPostCountService;
+
     @Test
     public void test_createPost_withSuccess() throws IOException {
         Authentication authentication = Mockito.mock(Authentication.class);
@@ -82,7 +101,7 @@ class PostServiceImplTest {
         Post post = mock(Post.class);
 
         when(authorRepository.findByUsernameOrEmail("test", "test")).thenReturn(Optional.of(author));
-        when(categoryRepository.findByName("Siyaset")).thenReturn(Optional.of(category));
+        when(categoryRegistry.getReferenceByName("Siyaset")).thenReturn(Optional.of(category));
 
         when(postMapper.postRequestDTOToPost(requestDTO)).thenReturn(post);
         when(postRepository.save(post)).thenReturn(post);
@@ -175,7 +194,7 @@ class PostServiceImplTest {
         Post post = mock(Post.class);
 
         when(authorRepository.findByUsername("test")).thenReturn(Optional.of(author));
-        when(categoryRepository.findByName("Siyaset")).thenReturn(Optional.of(category));
+        when(categoryRegistry.getReferenceByName("Siyaset")).thenReturn(Optional.of(category));
 
         when(postMapper.postCreateEditorRequestDTOToPost(requestDTO)).thenReturn(post);
         when(postRepository.save(post)).thenReturn(post);
@@ -242,28 +261,23 @@ class PostServiceImplTest {
 
     @Test
     public void test_getAllPosts_withSuccess() {
-        Post post = Post.Builder.newBuilder()
-                .postId(UUID.randomUUID())
+        PostCardResponseDTO card = PostCardResponseDTO.builder()
+                .id(UUID.randomUUID())
                 .title("Test Title")
-                .content("Test Content")
                 .build();
 
-        when(postRepository.findByActiveTrueOrderByCreateDateTimeDesc()).thenReturn(List.of(post));
+        when(postRepository.findActiveCards()).thenReturn(List.of(card));
 
-        List<PostResponseDTO> responseDTOS = postService.getAllPosts();
+        List<PostCardResponseDTO> responseDTOS = postService.getAllPosts();
 
         assertEquals(1, responseDTOS.size());
     }
 
     @Test
     public void test_getFirstFivePosts_withSuccess() {
-        Post post = Post.Builder.newBuilder()
-                .postId(UUID.randomUUID())
-                .title("Test Title")
-                .content("Test Content")
-                .build();
+        FirstFivePostsListDTO hero = new FirstFivePostsListDTO(UUID.randomUUID(), "file.png", 1200, 800, null, "Test Title");
 
-        when(postRepository.findFirstFiveActiveTrueByCreateDateTime()).thenReturn(List.of(post));
+        when(homePageService.getHomePage()).thenReturn(new HomePageResponseDTO(List.of(hero), List.of(), List.of()));
 
         List<FirstFivePostsListDTO> responseDTOS = postService.getFirstFivePosts();
 
@@ -272,13 +286,9 @@ class PostServiceImplTest {
 
     @Test
     public void test_getFourPostsForTop_withSuccess() {
-        Post post = Post.Builder.newBuilder()
-                .postId(UUID.randomUUID())
-                .title("Test Title")
-                .content("Test Content")
-                .build();
+        MainPagePostsListDTO top = MainPagePostsListDTO.builder().id(UUID.randomUUID()).title("Test Title").build();
 
-        when(postRepository.findFourPostsActiveTrueByCreateDateTime()).thenReturn(List.of(post));
+        when(homePageService.getHomePage()).thenReturn(new HomePageResponseDTO(List.of(), List.of(top), List.of()));
 
         List<MainPagePostsListDTO> responseDTOS = postService.getFourPostsForTop();
 
@@ -287,13 +297,9 @@ class PostServiceImplTest {
 
     @Test
     public void test_getPostsForMainPage_withSuccess() {
-        Post post = Post.Builder.newBuilder()
-                .postId(UUID.randomUUID())
-                .title("Test Title")
-                .content("Test Content")
-                .build();
+        MainPagePostsListDTO main = MainPagePostsListDTO.builder().id(UUID.randomUUID()).title("Test Title").build();
 
-        when(postRepository.findFifteenActiveTrueByCreateDateTimeOffset5()).thenReturn(List.of(post));
+        when(homePageService.getHomePage()).thenReturn(new HomePageResponseDTO(List.of(), List.of(), List.of(main)));
 
         List<MainPagePostsListDTO> responseDTOS = postService.getPostsForMainPage();
 
@@ -400,7 +406,7 @@ class PostServiceImplTest {
         UUID postId = UUID.randomUUID();
 
         when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-        when(categoryRepository.findByName("Siyaset")).thenReturn(Optional.of(category));
+        when(categoryRegistry.getReferenceByName("Siyaset")).thenReturn(Optional.of(category));
 
         when(postRepository.save(post)).thenReturn(post);
         when(postMapper.postToPostResponseDTO(post)).thenReturn(PostResponseDTO.builder()
@@ -474,7 +480,7 @@ class PostServiceImplTest {
         UUID postId = UUID.randomUUID();
 
         when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-        when(categoryRepository.findByName("Siyaset")).thenReturn(Optional.of(category));
+        when(categoryRegistry.getReferenceByName("Siyaset")).thenReturn(Optional.of(category));
 
         when(postRepository.save(post)).thenReturn(post);
         when(postMapper.postToPostResponseDTO(post)).thenReturn(PostResponseDTO.builder()
@@ -534,15 +540,14 @@ class PostServiceImplTest {
 
     @Test
     public void test_getRandomThreePost_withSuccess() {
-        Post post = Post.Builder.newBuilder()
-                .postId(UUID.randomUUID())
+        PostCardResponseDTO card = PostCardResponseDTO.builder()
+                .id(UUID.randomUUID())
                 .title("Test Title")
-                .content("Test Content")
                 .build();
 
-        when(postRepository.findThreeActiveTrueByRandom()).thenReturn(List.of(post));
+        when(randomPostService.getRandomPosts(3)).thenReturn(List.of(card));
 
-        List<PostResponseDTO> responseDTOS = postService.getRandomThreePost();
+        List<PostCardResponseDTO> responseDTOS = postService.getRandomThreePost();
 
         assertEquals(1, responseDTOS.size());
     }
@@ -551,17 +556,16 @@ class PostServiceImplTest {
     public void test_getPostsByCategory_withSuccess() {
         Category category = mock(Category.class);
 
-        Post post = Post.Builder.newBuilder()
-                .postId(UUID.randomUUID())
+        PostCardResponseDTO card = PostCardResponseDTO.builder()
+                .id(UUID.randomUUID())
                 .title("Test Title")
-                .content("Test Content")
                 .build();
 
-        when(categoryRepository.findByName("Siyaset")).thenReturn(Optional.of(category));
-        when(postRepository.findAllByCategoryNameAndActiveTrueOrderByCreateDateTimeDesc("Siyaset"))
-                .thenReturn(List.of(post));
+        when(categoryRegistry.findByName("Siyaset")).thenReturn(Optional.of(category));
+        when(postRepository.findActiveCardsByCategory("Siyaset"))
+                .thenReturn(List.of(card));
 
-        List<PostResponseDTO> responseDTOS = postService.getPostsByCategory("Siyaset");
+        List<PostCardResponseDTO> responseDTOS = postService.getPostsByCategory("Siyaset");
 
         assertEquals(1, responseDTOS.size());
     }
@@ -578,17 +582,16 @@ class PostServiceImplTest {
     public void test_findByUsername_withSuccess() {
         Author author = mock(Author.class);
 
-        Post post = Post.Builder.newBuilder()
-                .postId(UUID.randomUUID())
+        PostCardResponseDTO card = PostCardResponseDTO.builder()
+                .id(UUID.randomUUID())
                 .title("Test Title")
-                .content("Test Content")
                 .build();
 
         when(authorRepository.findByUsername("ensar")).thenReturn(Optional.of(author));
-        when(postRepository.findAllByAuthorUsernameAndActiveTrueOrderByCreateDateTimeDesc("ensar"))
-                .thenReturn(List.of(post));
+        when(postRepository.findActiveCardsByAuthor("ensar"))
+                .thenReturn(List.of(card));
 
-        List<PostResponseDTO> responseDTOS = postService.findByUsername("ensar");
+        List<PostCardResponseDTO> responseDTOS = postService.findByUsername("ensar");
 
         assertEquals(1, responseDTOS.size());
     }
@@ -603,10 +606,10 @@ class PostServiceImplTest {
 
     @Test
     public void test_countsByCategoryName_withSuccess() {
-        Category category = mock(Category.class);
+        Category category = new Category(UUID.randomUUID(), "Siyaset", true);
 
-        when(categoryRepository.findByName("Siyaset")).thenReturn(Optional.of(category));
-        when(postRepository.countByCategoryNameAndActiveTrue("Siyaset")).thenReturn(2);
+        when(categoryRegistry.findByName("Siyaset")).thenReturn(Optional.of(category));
+        when(categoryPostCountService.getPostCount(category.getId())).thenReturn(2);
 
         Integer postCount = postService.countsByCategoryName("Siyaset");
 
@@ -622,4 +625,57 @@ class PostServiceImplTest {
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_getPostsPage_firstPage() {
+        PostCardResponseDTO first = PostCardResponseDTO.builder()
+                .id(UUID.randomUUID())
+                .title("First")
+                .createDateTime(LocalDateTime.now())
+                .build();
+        PostCardResponseDTO second = PostCardResponseDTO.builder()
+                .id(UUID.randomUUID())
+                .title("Second")
+                .createDateTime(LocalDateTime.now().minusMinutes(1))
+                .build();
+
+        when(postRepository.findActivePage(PageCursor.pageable(1))).thenReturn(List.of(first, second));
+
+        PageResponseDTO<PostCardResponseDTO> page = postService.getPostsPage(null, 1);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(first.getId(), PageCursor.decode(page.getNext()).getId());
+    }
+
+    @Test
+    public void test_getPostsPage_afterCursor() {
+        LocalDateTime createDateTime = LocalDateTime.now();
+        UUID lastId = UUID.randomUUID();
+        PostCardResponseDTO card = PostCardResponseDTO.builder().id(UUID.randomUUID()).title("Older").build();
+
+        when(postRepository.findActivePageAfter(createDateTime, lastId, PageCursor.pageable(10)))
+                .thenReturn(List.of(card));
+
+        PageResponseDTO<PostCardResponseDTO> page =
+                postService.getPostsPage(PageCursor.encode(createDateTime, lastId), null);
+
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    public void test_getPostsByCategoryPage_categoryNotFound() {
+        assertThrows(
+                ResourceNotFoundException.class,
+                () -> postService.getPostsByCategoryPage("wrongCategory", null, null)
+        );
+    }
+
+    @Test
+    public void test_findByUsernamePage_authorNotFound() {
+        assertThrows(
+                ResourceNotFoundException.class,
+                () -> postService.findByUsernamePage("wrongUsername", null, null)
+        );
+    }
+
+}
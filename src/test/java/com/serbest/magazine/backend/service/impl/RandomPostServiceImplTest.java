@@ -0,0 +1,122 @@
+package com.serbest.magazine.backend.service.impl;
+
+import com.serbest.magazine.backend.dto.post.PostCardResponseDTO;
+import com.serbest.magazine.backend.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RandomPostServiceImplTest {
+
+    @InjectMocks
+    RandomPostServiceImpl randomPostService;
+
+    @Mock
+    PostRepository postRepository;
+
+    @Test
+    public void test_getRandomPosts_samplesDistinctIds() {
+        List<UUID> postIds = IntStream.range(0, 100).mapToObj(i -> UUID.randomUUID()).toList();
+        when(postRepository.findActivePostIds()).thenReturn(postIds);
+
+        for (int i = 0; i < 20; i++) {
+            Collection<UUID> sampled = sample(3);
+
+            assertEquals(3, new HashSet<>(sampled).size());
+            assertTrue(postIds.containsAll(sampled));
+        }
+        verify(postRepository, times(1)).findActivePostIds();
+    }
+
+    @Test
+    public void test_getRandomPosts_fewerPostsThanRequested() {
+        List<UUID> postIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(postRepository.findActivePostIds()).thenReturn(postIds);
+
+        assertEquals(new HashSet<>(postIds), new HashSet<>(sample(3)));
+    }
+
+    @Test
+    public void test_getRandomPosts_noActivePosts() {
+        when(postRepository.findActivePostIds()).thenReturn(List.of());
+
+        assertTrue(randomPostService.getRandomPosts(3).isEmpty());
+        verify(postRepository, never()).findActiveCardsByPostIdIn(any());
+    }
+
+    @Test
+    public void test_postActivatedAndDeactivated_updatePool() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID created = UUID.randomUUID();
+        when(postRepository.findActivePostIds()).thenReturn(List.of(first, second));
+
+        sample(3);
+        randomPostService.postActivated(created);
+        randomPostService.postActivated(created);
+        randomPostService.postDeactivated(first);
+
+        assertEquals(new HashSet<>(List.of(second, created)), new HashSet<>(sample(3)));
+    }
+
+    @Test
+    public void test_postDeactivated_removesPostMovedBySwap() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(postRepository.findActivePostIds()).thenReturn(List.of(first, second, third));
+
+        sample(3);
+        // The last post takes the place of the first one, and is then removed from there.
+        randomPostService.postDeactivated(first);
+        randomPostService.postDeactivated(third);
+        randomPostService.postActivated(first);
+        randomPostService.postDeactivated(second);
+
+        assertEquals(List.of(first), List.copyOf(sample(3)));
+    }
+
+    @Test
+    public void test_postActivatedAndDeactivated_keepManyCollidingIds() {
+        // Equal halves hash to the same slot, so every lookup probes past the others.
+        List<UUID> colliding = IntStream.range(0, 100).mapToObj(i -> new UUID(i, i)).toList();
+        List<UUID> random = IntStream.range(0, 100).mapToObj(i -> UUID.randomUUID()).toList();
+        when(postRepository.findActivePostIds()).thenReturn(colliding.subList(0, 50));
+
+        sample(1);
+        colliding.subList(50, 100).forEach(randomPostService::postActivated);
+        random.forEach(randomPostService::postActivated);
+        IntStream.range(0, 100).filter(i -> i % 3 == 0).forEach(i -> randomPostService.postDeactivated(colliding.get(i)));
+        colliding.forEach(randomPostService::postActivated);
+        colliding.stream().filter(postId -> postId.getMostSignificantBits() % 2 == 0)
+                .forEach(randomPostService::postDeactivated);
+
+        HashSet<UUID> expected = new HashSet<>(random);
+        colliding.stream().filter(postId -> postId.getMostSignificantBits() % 2 != 0).forEach(expected::add);
+        assertEquals(expected, new HashSet<>(sample(1000)));
+    }
+
+    private Collection<UUID> sample(int count) {
+        when(postRepository.findActiveCardsByPostIdIn(any())).thenReturn(List.of(new PostCardResponseDTO()));
+        randomPostService.getRandomPosts(count);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(postRepository, atLeastOnce()).findActiveCardsByPostIdIn(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,64 @@
+package com.serbest.magazine.backend.util;
+
+import com.serbest.magazine.backend.exception.CustomApplicationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckedImageInputStreamTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D, 1, 2, 3};
+
+    @Test
+    public void read_detectsFormatFromSignature() throws IOException {
+        CheckedImageInputStream inputStream = new CheckedImageInputStream(new ByteArrayInputStream(PNG), 100);
+
+        assertArrayEquals(PNG, inputStream.readAllBytes());
+        assertEquals(CheckedImageInputStream.Format.PNG, inputStream.getFormat());
+    }
+
+    @Test
+    public void read_detectsShortImage() throws IOException {
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xD9};
+        CheckedImageInputStream inputStream = new CheckedImageInputStream(new ByteArrayInputStream(jpeg), 100);
+
+        inputStream.readAllBytes();
+
+        assertEquals(CheckedImageInputStream.Format.JPEG, inputStream.getFormat());
+        assertEquals(".jpeg", inputStream.getFormat().extensionFor(".jpeg"));
+        assertEquals(".jpg", inputStream.getFormat().extensionFor(".png"));
+    }
+
+    @Test
+    public void read_rejectsUnknownContent() {
+        InputStream inputStream = new CheckedImageInputStream(
+                new ByteArrayInputStream("<html><body></body></html>".getBytes(StandardCharsets.US_ASCII)), 100);
+
+        assertThrows(
+                CustomApplicationException.class,
+                inputStream::readAllBytes);
+    }
+
+    @Test
+    public void read_rejectsOversizedImage() {
+        InputStream inputStream = new CheckedImageInputStream(new ByteArrayInputStream(PNG), 10);
+
+        assertThrows(
+                CustomApplicationException.class,
+                inputStream::readAllBytes);
+    }
+
+    @Test
+    public void read_rejectsEmptyUpload() {
+        InputStream inputStream = new CheckedImageInputStream(new ByteArrayInputStream(new byte[0]), 10);
+
+        assertThrows(
+                CustomApplicationException.class,
+                inputStream::readAllBytes);
+    }
+}
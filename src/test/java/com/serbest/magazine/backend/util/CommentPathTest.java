@@ -0,0 +1,36 @@
+package com.serbest.magazine.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommentPathTest {
+
+    @Test
+    public void child_appendsFixedWidthSegment() {
+        String root = CommentPath.root(UUID.fromString("0a1b2c3d-0000-4000-8000-00000000000f"));
+
+        assertEquals("0a1b2c3d00004000800000000000000f", root);
+        assertEquals(root + "000001", CommentPath.child(root, 1));
+        assertEquals(root + "00000a" + "0000zz", CommentPath.child(CommentPath.child(root, 10), 36 * 36 - 1));
+    }
+
+    @Test
+    public void subtreeRange_coversDescendantsOnly() {
+        String parent = CommentPath.child(CommentPath.root(UUID.randomUUID()), 5);
+        String grandChild = CommentPath.child(CommentPath.child(parent, 36 * 36 * 36), 2);
+        String sibling = CommentPath.child(parent.substring(0, parent.length() - 6), 6);
+        String end = CommentPath.subtreeEnd(parent);
+
+        assertTrue(grandChild.compareTo(parent) > 0 && grandChild.compareTo(end) < 0);
+        assertTrue(sibling.compareTo(end) > 0);
+    }
+
+    @Test
+    public void child_rejectsPositionOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> CommentPath.child("root", 0));
+        assertThrows(IllegalArgumentException.class, () -> CommentPath.child("root", 36L * 36 * 36 * 36 * 36 * 36 - 1));
+    }
+}
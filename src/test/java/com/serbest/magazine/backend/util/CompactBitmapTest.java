@@ -0,0 +1,68 @@
+package com.serbest.magazine.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactBitmapTest {
+
+    @Test
+    public void sparseSet_staysSmall() {
+        CompactBitmap bitmap = new CompactBitmap();
+
+        assertTrue(bitmap.add(1_000_000));
+        assertTrue(bitmap.add(5));
+        assertFalse(bitmap.add(5));
+
+        assertTrue(bitmap.contains(5));
+        assertTrue(bitmap.contains(1_000_000));
+        assertFalse(bitmap.contains(6));
+        assertEquals(2, bitmap.cardinality());
+        assertTrue(bitmap.sizeInBytes() <= 16);
+    }
+
+    @Test
+    public void denseSet_switchesToBitsetAndBack() {
+        CompactBitmap bitmap = new CompactBitmap();
+        for (int i = 0; i < 1000; i++) {
+            bitmap.add(i);
+        }
+        // 1000 values below 1024 fit in 128 bytes as bits.
+        assertEquals(128, bitmap.sizeInBytes());
+
+        for (int i = 0; i < 990; i++) {
+            assertTrue(bitmap.remove(i));
+        }
+        assertFalse(bitmap.remove(0));
+        assertEquals(10, bitmap.cardinality());
+        assertTrue(bitmap.sizeInBytes() < 128);
+        assertTrue(bitmap.contains(995));
+        assertFalse(bitmap.contains(5));
+    }
+
+    @Test
+    public void randomOperations_matchBitSet() {
+        CompactBitmap bitmap = new CompactBitmap();
+        BitSet expected = new BitSet();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(i % 2 == 0 ? 300 : 5000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.get(value), bitmap.remove(value));
+                expected.clear(value);
+            } else {
+                assertEquals(!expected.get(value), bitmap.add(value));
+                expected.set(value);
+            }
+        }
+
+        assertEquals(expected.cardinality(), bitmap.cardinality());
+        for (int value = 0; value < 5000; value++) {
+            assertEquals(expected.get(value), bitmap.contains(value));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.serbest.magazine.backend.util;
+
+import com.serbest.magazine.backend.dto.general.PageResponseDTO;
+import com.serbest.magazine.backend.exception.CustomApplicationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    public void encode_decode_roundTrip() {
+        LocalDateTime createDateTime = LocalDateTime.of(2023, 3, 1, 12, 30, 15, 123456000);
+        UUID id = UUID.randomUUID();
+
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(createDateTime, id));
+
+        assertEquals(createDateTime, cursor.getCreateDateTime());
+        assertEquals(id, cursor.getId());
+    }
+
+    @Test
+    public void decode_emptyCursor_returnsNull() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(" "));
+    }
+
+    @Test
+    public void decode_invalidCursor() {
+        assertThrows(
+                CustomApplicationException.class,
+                () -> PageCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    public void pageSize_isCapped() {
+        assertEquals(PageCursor.DEFAULT_PAGE_SIZE, PageCursor.pageSize(null));
+        assertEquals(PageCursor.DEFAULT_PAGE_SIZE, PageCursor.pageSize(0));
+        assertEquals(5, PageCursor.pageSize(5));
+        assertEquals(PageCursor.MAX_PAGE_SIZE, PageCursor.pageSize(1000));
+    }
+
+    @Test
+    public void toPage_setsNextOnlyWhenMoreRowsExist() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> rows = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        PageResponseDTO<UUID> fullPage = PageCursor.toPage(rows, 2, id -> new PageCursor(now, id), Function.identity());
+        PageResponseDTO<UUID> lastPage = PageCursor.toPage(rows, 3, id -> new PageCursor(now, id), Function.identity());
+
+        assertEquals(2, fullPage.getContent().size());
+        assertEquals(rows.get(1), PageCursor.decode(fullPage.getNext()).getId());
+        assertEquals(3, lastPage.getContent().size());
+        assertNull(lastPage.getNext());
+    }
+}